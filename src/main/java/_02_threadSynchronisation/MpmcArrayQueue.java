@@ -0,0 +1,171 @@
+package main.java._02_threadSynchronisation;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+===============================================
+BOUNDED MULTI-PRODUCER / MULTI-CONSUMER ARRAY QUEUE
+===============================================
+
+WHY NOT SpscRingBuffer?
+- `SpscRingBuffer` is safe only because exactly one thread writes `tail` and exactly one writes `head`.
+- With several producers, two of them can read the same `tail` and write the same slot.
+
+THE IDEA: A SEQUENCE NUMBER PER SLOT
+- Every array slot has its own sequence number that says whose turn it is:
+  - `sequence == position`       → the slot is empty and waiting for the producer of `position`.
+  - `sequence == position + 1`   → the slot is full and waiting for the consumer of `position`.
+- A producer reads `enqueuePos`, checks the slot's sequence, and CLAIMS the position with a CAS
+  (compare-and-swap) on `enqueuePos`. Only one producer can win that CAS, so only one writes the slot.
+- After writing the item, it sets the slot's sequence to `position + 1`: "full, consumer may take it".
+- A consumer does the same with `dequeuePos`, and after reading sets the sequence to
+  `position + capacity`: "empty, for the producer one lap later".
+
+WHY IS THIS BETTER THAN ONE LOCK + notifyAll()?
+- Producers only compete with producers (on `enqueuePos`), consumers only with consumers (on `dequeuePos`).
+- Nobody sleeps while holding anything, so a slow thread never blocks the others.
+- There is no `notifyAll()` that wakes EVERY waiting thread when only one of them can proceed
+  (the "thundering herd").
+
+BATCH CONSUMPTION:
+- `drainTo(buffer, max)` finds how many consecutive slots are already full and claims all of them
+  with ONE CAS, instead of one CAS per item.
+
+IMPORTANT NOTES:
+- Lock-free, but not wait-free: a thread whose CAS fails simply tries again.
+- `null` items are not allowed (`poll()` uses `null` to mean "empty").
+- The array is rounded up to a power of two (so `position & mask` can replace `position % size`).
+  If the requested capacity is not a power of two, `offer()` additionally checks the exact limit.
+*/
+
+public final class MpmcArrayQueue<E> {
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final int limit;
+
+    private final PaddedPosition enqueuePos = new PaddedPosition();
+    private final PaddedPosition dequeuePos = new PaddedPosition();
+
+    public MpmcArrayQueue(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2: " + capacity);
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.buffer = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.limit = capacity;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    // Returns false if the queue is full.
+    public boolean offer(E item) {
+        if (item == null) {
+            throw new NullPointerException("null items are not allowed");
+        }
+        while (true) {
+            long pos = enqueuePos.get();
+            int index = (int) pos & mask;
+            long difference = sequences.get(index) - pos;
+            if (difference == 0) {
+                if (limit != buffer.length && pos - dequeuePos.get() >= limit) {
+                    return false;   // the array has room, but the requested capacity is reached
+                }
+                if (enqueuePos.compareAndSet(pos, pos + 1)) {
+                    buffer[index] = item;
+                    sequences.lazySet(index, pos + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;   // the consumer of the previous lap has not emptied this slot yet: full
+            }
+            // difference > 0: another producer claimed this position; read enqueuePos again
+        }
+    }
+
+    // Returns null if the queue is empty.
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        while (true) {
+            long pos = dequeuePos.get();
+            int index = (int) pos & mask;
+            long difference = sequences.get(index) - (pos + 1);
+            if (difference == 0) {
+                if (dequeuePos.compareAndSet(pos, pos + 1)) {
+                    E item = (E) buffer[index];
+                    buffer[index] = null;
+                    sequences.lazySet(index, pos + mask + 1);
+                    return item;
+                }
+            } else if (difference < 0) {
+                return null;    // the producer of this position has not written it yet: empty
+            }
+        }
+    }
+
+    // Moves up to max items into target, claiming them with a single CAS. Returns how many were moved.
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super E> target, int max) {
+        if (max <= 0) {
+            return 0;
+        }
+        while (true) {
+            long pos = dequeuePos.get();
+            int ready = 0;
+            while (ready < max && ready <= mask
+                    && sequences.get((int) (pos + ready) & mask) == pos + ready + 1) {
+                ready++;
+            }
+            if (ready == 0) {
+                if (sequences.get((int) pos & mask) - (pos + 1) < 0) {
+                    return 0;   // empty
+                }
+                continue;       // another consumer moved dequeuePos; try again
+            }
+            if (dequeuePos.compareAndSet(pos, pos + ready)) {
+                for (int i = 0; i < ready; i++) {
+                    int index = (int) (pos + i) & mask;
+                    E item = (E) buffer[index];
+                    buffer[index] = null;
+                    sequences.lazySet(index, pos + i + mask + 1);
+                    target.add(item);
+                }
+                return ready;
+            }
+        }
+    }
+
+    // A snapshot only: other threads may change the size at any moment.
+    public int size() {
+        while (true) {
+            long before = dequeuePos.get();
+            long tail = enqueuePos.get();
+            long after = dequeuePos.get();
+            if (before == after) {
+                return (int) Math.max(0, Math.min(tail - after, capacity()));
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return limit;
+    }
+
+    // Keeps enqueuePos and dequeuePos on different cache lines.
+    @SuppressWarnings({"unused", "serial"})
+    private static final class PaddedPosition extends AtomicLong {
+        long p1, p2, p3, p4, p5, p6, p7;
+    }
+}
@@ -0,0 +1,88 @@
+package main.java._02_threadSynchronisation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+===============================================
+Worker FOR MANY PRODUCERS AND MANY CONSUMERS
+===============================================
+
+SAME RULES AS Worker:
+- Producers stop adding when the container holds `top` items ("Container is full").
+- Consumers stop removing when the container holds `bottom` items ("Container is empty").
+
+WHAT IS DIFFERENT?
+1. `producer()` and `consumer()` may be called from ANY number of threads at the same time.
+   The container is an `MpmcArrayQueue`, so there is no lock to hand over on every item.
+2. **No thundering herd**: `Worker` calls `notifyAll()` after every item, which wakes every
+   waiting thread even though only one can make progress. Here a thread that cannot proceed
+   parks for a short time on its own; nobody wakes everybody.
+3. **Batch consumption**: a consumer takes every available item above `bottom` in one `drainTo()`.
+
+NOTE ON bottom:
+- With several consumers, two of them can see the same size and together take a little more than
+  `size - bottom` items; the container can then briefly drop below `bottom`.
+  With `bottom = 0` (as in `_03_ProducerConsumer`) this cannot happen.
+*/
+
+public class MpmcWorker {
+    private static final long PARK_NANOS = 100_000;   // 0.1 ms between checks while full/empty
+    private static final int MAX_BATCH = 64;
+
+    private final AtomicInteger count = new AtomicInteger();
+    private final int bottom;
+    private final int top;
+    private final MpmcArrayQueue<Integer> container;
+
+    public MpmcWorker(int bottom, int top) {
+        this.bottom = bottom;
+        this.top = top;
+        this.container = new MpmcArrayQueue<>(top);
+    }
+
+    public void producer() throws InterruptedException {
+        String name = Thread.currentThread().getName();
+        while (true) {
+            int value = count.incrementAndGet();
+            if (!container.offer(value)) {
+                System.out.println(name + ": Container is full");
+                while (!container.offer(value)) {
+                    parkOrThrow();
+                }
+            }
+            System.out.println(name + " produced: " + value);
+            Thread.sleep(1000);
+        }
+    }
+
+    public void consumer() throws InterruptedException {
+        String name = Thread.currentThread().getName();
+        List<Integer> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            int available = container.size() - bottom;
+            if (available <= 0) {
+                System.out.println(name + ": Container is empty");
+                while (container.size() <= bottom) {
+                    parkOrThrow();
+                }
+            } else {
+                batch.clear();
+                container.drainTo(batch, Math.min(available, MAX_BATCH));
+                if (!batch.isEmpty()) {
+                    System.out.println(name + " consumed: " + batch);
+                }
+            }
+            Thread.sleep(1000);
+        }
+    }
+
+    private static void parkOrThrow() throws InterruptedException {
+        LockSupport.parkNanos(PARK_NANOS);
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+}
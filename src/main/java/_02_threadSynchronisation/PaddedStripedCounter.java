@@ -0,0 +1,123 @@
+package main.java._02_threadSynchronisation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+===============================================
+FALSE SHARING AND THE PADDED STRIPED COUNTER
+===============================================
+
+WHAT IS A CACHE LINE?
+- The CPU does not move single variables between memory and its cache; it moves blocks of 64 bytes
+  (on some CPUs, 128 bytes) called cache lines.
+- When one core writes to a cache line, every other core's copy of that WHOLE line becomes invalid.
+
+WHAT IS FALSE SHARING?
+- `count1` and `count2` in `_02_LockWithCustomObject` are two ints declared next to each other.
+  They almost certainly live on the same cache line.
+- Thread 1 only touches `count1` and thread 2 only touches `count2`, and they use different locks,
+  so logically they share nothing.
+- But every write by thread 1 invalidates thread 2's cached line (and vice versa), so the line
+  bounces between the two cores. This is "false" sharing: the data is not shared, the cache line is.
+
+HOW DOES THIS CLASS AVOID IT?
+1. **Striping**: the counter is split into several cells ("stripes"), about one per core.
+   Each thread increments its own stripe, so threads rarely write the same cell.
+2. **Padding**: each stripe is placed 128 bytes apart (16 longs), so no two stripes ever share a
+   cache line, even on CPUs that fetch two lines at a time.
+3. **Re-probing**: if a thread's CAS fails, another thread is using the same stripe.
+   The thread then moves to a different stripe (the same trick `LongAdder` uses).
+
+OPERATIONS:
+- `increment()` / `add(x)` → update the calling thread's stripe (no lock, usually no contention).
+- `sum()` → add up all stripes. Not an atomic snapshot: increments that happen during the
+  read may or may not be included.
+- `sumThenReset()` → read and zero every stripe with `getAndSet(0)`. No increment is ever lost:
+  each one is counted either in this result or in the next one.
+
+TRADE-OFF:
+- Writes are very cheap and scale with cores; reads cost one pass over every stripe.
+- Uses more memory: 128 bytes per stripe instead of 4 bytes for an int.
+- Use it for counters that are written very often and read rarely (statistics, metrics).
+*/
+
+public class PaddedStripedCounter {
+    // 16 longs = 128 bytes between stripes (two 64-byte cache lines)
+    private static final int PADDING = 16;
+
+    private static final ThreadLocal<int[]> probe = ThreadLocal.withInitial(
+            () -> new int[]{mix(System.identityHashCode(Thread.currentThread()))});
+
+    private final AtomicLongArray cells;
+    private final int mask;
+
+    public PaddedStripedCounter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public PaddedStripedCounter(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive: " + stripes);
+        }
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        // One extra padding block at the start keeps stripe 0 away from the array header.
+        this.cells = new AtomicLongArray((size + 1) * PADDING);
+    }
+
+    public void increment() {
+        add(1);
+    }
+
+    public void add(long x) {
+        int[] h = probe.get();
+        while (true) {
+            int index = indexOf(h[0]);
+            long current = cells.get(index);
+            if (cells.compareAndSet(index, current, current + x)) {
+                return;
+            }
+            // Another thread is using this stripe: move to a different one.
+            h[0] = mix(h[0] + 0x9E3779B9);
+        }
+    }
+
+    public long sum() {
+        long total = 0;
+        for (int stripe = 0; stripe <= mask; stripe++) {
+            total += cells.get(indexOf(stripe));
+        }
+        return total;
+    }
+
+    public long sumThenReset() {
+        long total = 0;
+        for (int stripe = 0; stripe <= mask; stripe++) {
+            total += cells.getAndSet(indexOf(stripe), 0);
+        }
+        return total;
+    }
+
+    public int stripes() {
+        return mask + 1;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(sum());
+    }
+
+    private int indexOf(int hash) {
+        return ((hash & mask) + 1) * PADDING;
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+}
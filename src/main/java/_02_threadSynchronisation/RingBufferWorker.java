@@ -0,0 +1,74 @@
+package main.java._02_threadSynchronisation;
+
+import java.util.concurrent.locks.LockSupport;
+
+/*
+===============================================
+Worker, REWRITTEN ON A LOCK-FREE RING BUFFER
+===============================================
+
+SAME RULES AS Worker:
+- The producer stops adding when the container holds `top` items ("Container is full").
+- The consumer stops removing when the container holds `bottom` items ("Container is empty").
+
+WHAT IS DIFFERENT?
+1. **No lock**: the container is an `SpscRingBuffer`, so there is no `synchronized`, `wait()` or `notifyAll()`.
+2. **Real overlap**: `Worker` calls `Thread.sleep(1000)` while HOLDING the lock, so only one side can
+   ever run at a time. Here nothing is held while sleeping, so the producer and consumer work at the same time.
+3. **Waiting**: instead of `wait()`, a side that cannot proceed parks for a short time and checks again.
+
+IMPORTANT:
+- Exactly ONE producer thread and ONE consumer thread, like `_03_ProducerConsumer` uses.
+*/
+
+public class RingBufferWorker {
+    private static final long PARK_NANOS = 100_000;   // 0.1 ms between checks while full/empty
+
+    private int count = 0;
+    private final int bottom;
+    private final int top;
+    private final SpscRingBuffer<Integer> container;
+
+    public RingBufferWorker(int bottom, int top) {
+        this.bottom = bottom;
+        this.top = top;
+        this.container = new SpscRingBuffer<>(top);
+    }
+
+    public void producer() throws InterruptedException {
+        while (true) {
+            if (container.size() == top) {
+                System.out.println("Container is full");
+                while (container.size() == top) {
+                    parkOrThrow();
+                }
+            } else {
+                count++;
+                System.out.println("Produced: " + count);  // print first: the consumer may take it immediately
+                container.offer(count);
+            }
+            Thread.sleep(1000);
+        }
+    }
+
+    public void consumer() throws InterruptedException {
+        while (true) {
+            if (container.size() == bottom) {
+                System.out.println("Container is empty");
+                while (container.size() == bottom) {
+                    parkOrThrow();
+                }
+            } else {
+                System.out.println("Consumed: " + container.poll());
+            }
+            Thread.sleep(1000);
+        }
+    }
+
+    private static void parkOrThrow() throws InterruptedException {
+        LockSupport.parkNanos(PARK_NANOS);
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package main.java._02_threadSynchronisation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/*
+===============================================
+LOCK-FREE SINGLE-PRODUCER / SINGLE-CONSUMER RING BUFFER
+===============================================
+
+WHAT IS A RING BUFFER?
+- A fixed-size array used as a queue. Two counters walk around it:
+  - `tail`: where the producer writes the next item.
+  - `head`: where the consumer reads the next item.
+- Number of items = tail - head. Full when it reaches the limit, empty when it is 0.
+- The counters only ever grow; the array slot is `counter % capacity`.
+
+WHY NO LOCK IS NEEDED (SINGLE PRODUCER / SINGLE CONSUMER ONLY!):
+- Only the producer ever writes `tail`. Only the consumer ever writes `head`.
+- So there is never a "two threads write the same variable" race, which is what locks protect against.
+- What we still need is VISIBILITY and ORDERING:
+  1. The producer writes the item into the array, THEN publishes `tail + 1`.
+  2. The consumer reads `tail`, and only then reads the item.
+  `lazySet` (a "release" write) and `get` (a volatile read) guarantee the consumer that sees the
+  new tail also sees the item written before it.
+- With two producers, both could read the same `tail` and write the same slot.
+  Use `MpmcArrayQueue` for more than one thread per side.
+
+WHY A POWER-OF-TWO CAPACITY?
+- `counter % capacity` is a division, which is slow.
+- If capacity is a power of two, `counter & (capacity - 1)` gives the same result with one AND instruction.
+- The `limit` (how many items may be queued) can be any number up to that capacity.
+
+WHY CACHED INDICES?
+- Reading the other side's counter means reading a cache line the other core keeps writing: expensive.
+- The producer remembers the last `head` it saw. As long as that old value already shows free space,
+  it does not need to look again. Same for the consumer and `tail`.
+- Each side's own counter and its cached copy sit together, padded away from the other side's
+  (`Index` below), to avoid false sharing.
+
+BATCHING:
+- `offer(items, offset, length)` writes many items and publishes `tail` ONCE.
+- `drain(consumer, max)` reads many items and publishes `head` ONCE.
+- Fewer publications = fewer cache-line transfers between the two cores.
+*/
+
+public final class SpscRingBuffer<E> {
+    private final E[] buffer;
+    private final int mask;
+    private final int limit;
+
+    private final Index tail = new Index();   // written by the producer; cached = last head it saw
+    private final Index head = new Index();   // written by the consumer; cached = last tail it saw
+
+    @SuppressWarnings("unchecked")
+    public SpscRingBuffer(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        int capacity = 1;
+        while (capacity < limit) {
+            capacity <<= 1;
+        }
+        this.buffer = (E[]) new Object[capacity];
+        this.mask = capacity - 1;
+        this.limit = limit;
+    }
+
+    // Producer thread only. Returns false if the buffer is full.
+    public boolean offer(E item) {
+        if (item == null) {
+            throw new NullPointerException("null items are not allowed");
+        }
+        long t = tail.get();
+        if (t - tail.cached >= limit) {
+            tail.cached = head.get();
+            if (t - tail.cached >= limit) {
+                return false;
+            }
+        }
+        buffer[(int) t & mask] = item;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    // Producer thread only. Adds as many items as fit; returns how many were added.
+    public int offer(E[] items, int offset, int length) {
+        long t = tail.get();
+        long free = limit - (t - tail.cached);
+        if (free < length) {
+            tail.cached = head.get();
+            free = limit - (t - tail.cached);
+        }
+        int n = (int) Math.min(free, length);
+        for (int i = 0; i < n; i++) {
+            E item = items[offset + i];
+            if (item == null) {
+                throw new NullPointerException("null items are not allowed");
+            }
+            buffer[(int) (t + i) & mask] = item;
+        }
+        if (n > 0) {
+            tail.lazySet(t + n);
+        }
+        return n;
+    }
+
+    // Consumer thread only. Returns null if the buffer is empty.
+    public E poll() {
+        long h = head.get();
+        if (h >= head.cached) {
+            head.cached = tail.get();
+            if (h >= head.cached) {
+                return null;
+            }
+        }
+        int index = (int) h & mask;
+        E item = buffer[index];
+        buffer[index] = null;   // let the item be garbage collected
+        head.lazySet(h + 1);
+        return item;
+    }
+
+    // Consumer thread only. Hands up to max items to the consumer; returns how many were drained.
+    public int drain(Consumer<? super E> consumer, int max) {
+        long h = head.get();
+        long available = head.cached - h;
+        if (available < max) {
+            head.cached = tail.get();
+            available = head.cached - h;
+        }
+        int n = (int) Math.min(available, max);
+        for (int i = 0; i < n; i++) {
+            int index = (int) (h + i) & mask;
+            E item = buffer[index];
+            buffer[index] = null;
+            consumer.accept(item);
+        }
+        if (n > 0) {
+            head.lazySet(h + n);
+        }
+        return n;
+    }
+
+    // Safe from any thread, but only a snapshot: the value may be stale as soon as it is returned.
+    public int size() {
+        long h = head.get();
+        long t = tail.get();
+        return (int) Math.max(0, Math.min(t - h, limit));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /*
+    A counter plus the cached copy of the other side's counter, padded so the producer's and
+    the consumer's fields never end up on the same cache line.
+    */
+    @SuppressWarnings({"unused", "serial"})
+    private static final class Index extends AtomicLong {
+        long cached;
+        long p1, p2, p3, p4, p5, p6, p7;
+    }
+}
@@ -0,0 +1,164 @@
+package main.java._02_threadSynchronisation;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/*
+===============================================
+STRIPED LOCKS: lock1/lock2 FOR THOUSANDS OF KEYS
+===============================================
+
+THE PROBLEM:
+- `_02_LockWithCustomObject` creates one lock object per piece of data (`lock1` for `count1`, `lock2` for `count2`).
+- That works for two fields. With thousands (or millions) of keys we cannot create one lock per key:
+  it costs memory, and someone has to clean the locks up when keys disappear.
+- One global lock is the other extreme: correct, but every key waits for every other key.
+
+THE IDEA:
+- Create a FIXED number of locks (the "stripes"), e.g. 64.
+- A key is mapped to a stripe using its hash code: `stripe = hash(key) % stripes`.
+- The same key always maps to the same stripe, so it is always protected by the same lock.
+- Two different keys USUALLY map to different stripes and can proceed in parallel.
+  Sometimes two keys share a stripe; they then wait for each other even though they are unrelated.
+  More stripes → fewer such collisions, but more memory.
+
+LOCKING SEVERAL KEYS (AVOIDING DEADLOCK):
+- Thread 1 locks key A then key B; thread 2 locks key B then key A → each waits for the other forever.
+- Fix: always lock stripes in the SAME global order (ascending stripe index), whatever order the
+  keys were given in. Two keys on the same stripe only lock it once.
+- Unlock in the reverse order.
+
+READ/WRITE VARIANT:
+- `StripedLock.readWrite(n)` uses a `ReentrantReadWriteLock` per stripe.
+- Many readers can hold the read lock of a stripe together; a writer has it alone.
+- Worth it when reads are much more common than writes.
+
+WHY java.util.concurrent.locks.Lock INSTEAD OF synchronized?
+- `synchronized` locks cannot be acquired in one method and released in another,
+  which multi-key locking needs (lock a sorted list of stripes, then unlock them in reverse).
+- `ReentrantLock` behaves like `synchronized` (same thread can lock it again) but has explicit
+  `lock()` / `unlock()`. ALWAYS call `unlock()` in a `finally` block.
+
+KEY TAKEAWAY:
+- Striping is the middle ground between one global lock and one lock per key.
+*/
+
+public final class StripedLock<K> {
+    private final Lock[] readLocks;
+    private final Lock[] writeLocks;
+    private final int mask;
+
+    private StripedLock(int stripes, boolean readWrite) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive: " + stripes);
+        }
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.readLocks = new Lock[size];
+        this.writeLocks = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            if (readWrite) {
+                ReadWriteLock lock = new ReentrantReadWriteLock();
+                readLocks[i] = lock.readLock();
+                writeLocks[i] = lock.writeLock();
+            } else {
+                Lock lock = new ReentrantLock();
+                readLocks[i] = lock;
+                writeLocks[i] = lock;
+            }
+        }
+    }
+
+    // Every stripe is a plain ReentrantLock; readLock() and writeLock() return the same lock.
+    public static <K> StripedLock<K> exclusive(int stripes) {
+        return new StripedLock<>(stripes, false);
+    }
+
+    // Every stripe is a ReentrantReadWriteLock.
+    public static <K> StripedLock<K> readWrite(int stripes) {
+        return new StripedLock<>(stripes, true);
+    }
+
+    public int stripes() {
+        return mask + 1;
+    }
+
+    public int stripeFor(K key) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= h >>> 16;   // mix high bits into low bits, like HashMap does
+        return h & mask;
+    }
+
+    public Lock writeLock(K key) {
+        return writeLocks[stripeFor(key)];
+    }
+
+    public Lock readLock(K key) {
+        return readLocks[stripeFor(key)];
+    }
+
+    public <T> T withWriteLock(K key, Supplier<T> action) {
+        Lock lock = writeLock(key);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public <T> T withReadLock(K key, Supplier<T> action) {
+        Lock lock = readLock(key);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+    Locks the stripes of all keys (exclusively) in ascending stripe order, runs the action,
+    then unlocks in reverse order. Safe to call concurrently with any key order.
+    */
+    public <T> T withWriteLocks(Collection<? extends K> keys, Supplier<T> action) {
+        int[] stripes = orderedStripes(keys);
+        int locked = 0;
+        try {
+            for (int stripe : stripes) {
+                writeLocks[stripe].lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                writeLocks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    private int[] orderedStripes(Collection<? extends K> keys) {
+        int[] stripes = new int[keys.size()];
+        int n = 0;
+        for (K key : keys) {
+            stripes[n++] = stripeFor(key);
+        }
+        Arrays.sort(stripes);
+        // remove duplicates: two keys on the same stripe must only lock it once
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (unique == 0 || stripes[unique - 1] != stripes[i]) {
+                stripes[unique++] = stripes[i];
+            }
+        }
+        return Arrays.copyOf(stripes, unique);
+    }
+}
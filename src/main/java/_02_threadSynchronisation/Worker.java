@@ -0,0 +1,75 @@
+package main.java._02_threadSynchronisation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Worker {
+    private int count = 0;
+    private final int bottom;
+    private final int top;
+    private final List<Integer> container = new ArrayList<>();
+    private final Object lock = new Object();
+
+    public Worker(int bottom, int top) {
+        this.bottom = bottom;
+        this.top = top;
+    }
+
+    public void producer() throws InterruptedException {
+        synchronized(lock) {
+            while (true) {
+                if (container.size() == top) {
+                    System.out.println("Container is full");
+                    lock.wait();
+                } else {
+                    count++;
+                    container.add(count);
+                    System.out.println("Produced: " + count);
+                    lock.notifyAll();
+                }
+                Thread.sleep(1000);
+            }
+        }
+    }
+
+    public void consumer() throws InterruptedException {
+        synchronized(lock) {
+            while (true) {
+                if (container.size() == bottom) {
+                    System.out.println("Container is empty");
+                    lock.wait();
+                } else {
+                    System.out.println("Consumed: " + container.removeFirst());
+                    lock.notifyAll();
+                }
+                Thread.sleep(1000);
+            }
+        }
+    }
+
+    /*
+    Single-item versions of producer()/consumer() with the same bottom/top rules,
+    but without printing or sleeping. They measure the cost of the monitor handoff itself.
+    */
+    public void put(int value) throws InterruptedException {
+        synchronized (lock) {
+            while (container.size() == top) {
+                lock.wait();
+            }
+            container.add(value);
+            lock.notifyAll();
+        }
+    }
+
+    public int take() throws InterruptedException {
+        synchronized (lock) {
+            while (container.size() == bottom) {
+                lock.wait();
+            }
+            int value = container.remove(0);
+            lock.notifyAll();
+            return value;
+        }
+    }
+
+}
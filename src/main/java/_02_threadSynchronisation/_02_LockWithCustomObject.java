@@ -49,6 +49,11 @@ WHEN TO USE BLOCK-LEVEL synchronized:
 KEY TAKEAWAY:
 - Use **block-level synchronized** with custom lock objects for better performance and fine-grained control.
 - Reserve **method-level synchronized** for simple cases where all synchronized methods operate on the same shared resource.
+
+ALTERNATE MODE: PADDED STRIPED COUNTERS
+- Separate locks remove lock contention, but `count1` and `count2` still sit next to each other in memory
+  and can share a cache line ("false sharing", explained in `PaddedStripedCounter.java`).
+- Run with the argument `striped` to use two `PaddedStripedCounter`s instead: no locks and no shared cache lines.
 */
 
 public class _02_LockWithCustomObject {
@@ -58,6 +63,9 @@ public class _02_LockWithCustomObject {
     static final Object lock1 = new Object();
     static final Object lock2 = new Object();
 
+    private static final PaddedStripedCounter stripedCount1 = new PaddedStripedCounter();
+    private static final PaddedStripedCounter stripedCount2 = new PaddedStripedCounter();
+
     public static void increment1() {
         synchronized (lock1) {
             count1++;
@@ -70,17 +78,34 @@ public class _02_LockWithCustomObject {
         } 
     }
 
+    public static void incrementStriped1() {
+        stripedCount1.increment();  // No lock needed
+    }
+
+    public static void incrementStriped2() {
+        stripedCount2.increment();
+    }
+
     public static void main(String[] args) throws InterruptedException {
+        boolean striped = args.length > 0 && args[0].equals("striped");
         
         Thread t1 = new Thread(() -> {
             for (int i = 0; i < 100000; i++) {
-                increment1();
+                if (striped) {
+                    incrementStriped1();
+                } else {
+                    increment1();
+                }
             }
         });
         
         Thread t2 = new Thread(() -> {
             for (int i = 0; i < 100000; i++) {
-                increment2();
+                if (striped) {
+                    incrementStriped2();
+                } else {
+                    increment2();
+                }
             }
         });
 
@@ -89,7 +114,12 @@ public class _02_LockWithCustomObject {
 
         t1.join();
         t2.join();
-        System.out.println("Count1: " + count1);  // Expected 100000
-        System.out.println("Count2: " + count2);  // Expected 100000 
+        if (striped) {
+            System.out.println("Count1: " + stripedCount1.sum());  // Expected 100000
+            System.out.println("Count2: " + stripedCount2.sum());  // Expected 100000
+        } else {
+            System.out.println("Count1: " + count1);  // Expected 100000
+            System.out.println("Count2: " + count2);  // Expected 100000 
+        }
     }
 }
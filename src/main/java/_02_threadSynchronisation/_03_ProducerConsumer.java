@@ -1,15 +1,24 @@
 package main.java._02_threadSynchronisation;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class _03_ProducerConsumer {
     public static void main(String[] args) {
+        // Run with the argument `ring` to use the lock-free RingBufferWorker instead,
+        // or `mpmc` to run several producers and consumers on an MpmcWorker
+        if (args.length > 0 && args[0].equals("mpmc")) {
+            runMultiple(2, 3);
+            return;
+        }
+        boolean ring = args.length > 0 && args[0].equals("ring");
         Worker worker = new Worker(0, 5);
+        RingBufferWorker ringWorker = new RingBufferWorker(0, 5);
         
         Thread producerThread = new Thread(() -> {
             try {
-                worker.producer();
+                if (ring) {
+                    ringWorker.producer();
+                } else {
+                    worker.producer();
+                }
             } catch (InterruptedException e) {
                 e.printStackTrace();
             }
@@ -17,7 +26,11 @@ public class _03_ProducerConsumer {
         
         Thread consumerThread = new Thread(() -> {
             try {
-                worker.consumer();
+                if (ring) {
+                    ringWorker.consumer();
+                } else {
+                    worker.consumer();
+                }
             } catch (InterruptedException e) {
                 e.printStackTrace();
             }
@@ -26,51 +39,29 @@ public class _03_ProducerConsumer {
         producerThread.start();
         consumerThread.start();
     }
-    
-}
 
-class Worker {
-    private int count = 0;
-    private final int bottom;
-    private final int top;
-    private final List<Integer> container = new ArrayList<>();
-    private final Object lock = new Object();
+    private static void runMultiple(int producers, int consumers) {
+        MpmcWorker worker = new MpmcWorker(0, 5);
 
-    public Worker(int bottom, int top) {
-        this.bottom = bottom;
-        this.top = top;
-    }
-
-    public void producer() throws InterruptedException {
-        synchronized(lock) {
-            while (true) {
-                if (container.size() == top) {
-                    System.out.println("Container is full");
-                    lock.wait();
-                } else {
-                    count++;
-                    container.add(count);
-                    System.out.println("Produced: " + count);
-                    lock.notifyAll();
+        for (int i = 0; i < producers; i++) {
+            new Thread(() -> {
+                try {
+                    worker.producer();
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
                 }
-                Thread.sleep(1000);
-            }
+            }, "producer-" + i).start();
         }
-    }
 
-    public void consumer() throws InterruptedException {
-        synchronized(lock) {
-            while (true) {
-                if (container.size() == bottom) {
-                    System.out.println("Container is empty");
-                    lock.wait();
-                } else {
-                    System.out.println("Consumed: " + container.removeFirst());
-                    lock.notifyAll();
+        for (int i = 0; i < consumers; i++) {
+            new Thread(() -> {
+                try {
+                    worker.consumer();
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
                 }
-                Thread.sleep(1000);
-            }
+            }, "consumer-" + i).start();
         }
     }
-
+    
 }
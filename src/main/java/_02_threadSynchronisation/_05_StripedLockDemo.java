@@ -0,0 +1,75 @@
+package main.java._02_threadSynchronisation;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+===============================================
+STRIPED LOCKS IN ACTION: BANK TRANSFERS
+===============================================
+
+WHAT HAPPENS HERE?
+- 1000 bank accounts, every account starts with 100.
+- 4 threads move money between random pairs of accounts, 100000 transfers each.
+- A transfer touches TWO accounts, so it must lock both of them.
+
+WHY IS THIS A GOOD EXAMPLE?
+- One lock per account would be 1000 lock objects (the `lock1`/`lock2` idea taken to the extreme).
+- One global lock would make every transfer wait for every other transfer.
+- `StripedLock` uses 64 locks: transfers on unrelated accounts usually run in parallel.
+
+WHY NO DEADLOCK?
+- Thread 1 transfers A → B while thread 2 transfers B → A.
+- If each locked "from" first, they could wait for each other forever.
+- `withWriteLocks` always locks stripes in ascending order, so both threads lock in the same order.
+
+EXPECTED OUTPUT:
+- Total money before and after is the same: 100000. Money is only moved, never created or lost.
+*/
+
+public class _05_StripedLockDemo {
+    private static final int ACCOUNTS = 1000;
+    private static final long[] balances = new long[ACCOUNTS];
+    private static final StripedLock<Integer> locks = StripedLock.exclusive(64);
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            balances[i] = 100;
+        }
+        System.out.println("Total before: " + total());
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 100000; i++) {
+                    transfer(random.nextInt(ACCOUNTS), random.nextInt(ACCOUNTS), random.nextInt(10));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        System.out.println("Total after:  " + total());  // Expected 100000
+    }
+
+    public static void transfer(int from, int to, long amount) {
+        locks.withWriteLocks(List.of(from, to), () -> {
+            if (balances[from] >= amount) {
+                balances[from] -= amount;
+                balances[to] += amount;
+            }
+            return null;
+        });
+    }
+
+    private static long total() {
+        long total = 0;
+        for (long balance : balances) {
+            total += balance;
+        }
+        return total;
+    }
+}
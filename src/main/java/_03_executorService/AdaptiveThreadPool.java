@@ -0,0 +1,203 @@
+package main.java._03_executorService;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+===============================================
+ADAPTIVE THREAD POOL: SIZED BY LITTLE'S LAW
+===============================================
+
+THE PROBLEM:
+- `newFixedThreadPool(n)`: n is a guess. Too small → tasks wait in the queue; too big → idle threads.
+- `newCachedThreadPool()`: no upper limit. A burst of 10,000 one-second tasks starts 10,000 threads
+  (~1 MB of stack each), and idle threads only leave after 60 seconds.
+
+THE IDEA (LITTLE'S LAW):
+- Tasks in the system = arrival rate × time per task (L = λ × W).
+- 200 tasks per second that each take 50 ms → on average 10 tasks are running at once → 10 threads.
+- The pool MEASURES λ (tasks submitted per second) and W (mean run time per task) and sizes itself
+  to λ × W, with some headroom, plus extra threads to drain a backlog that is already queued.
+
+HOW IT WORKS:
+- A `ThreadPoolExecutor` whose size is changed at runtime: `setCorePoolSize`/`setMaximumPoolSize`.
+- `execute()` counts arrivals; `beforeExecute`/`afterExecute` measure run time.
+- A controller thread recomputes the target every 50 ms (λ and W are smoothed, so one odd tick
+  does not resize the pool).
+- GROW FAST: the pool grows to the target at once. When a backlog forms faster than the next tick,
+  the submitting thread triggers the resize itself.
+- SHRINK QUICKLY, BUT SMOOTHLY: every tick the size moves a quarter of the way down to the target.
+  Idle threads above the size exit at once: after a burst the pool is back near the floor within
+  about a second, not 60 seconds.
+- FLOOR AND CEILING: the size always stays between them.
+
+BACKPRESSURE:
+- The queue is BOUNDED. When the pool is at its ceiling and the queue is full, `execute()` BLOCKS the
+  submitting thread until there is space, instead of creating threads or queueing without limit.
+  The producer slows down to the pool's pace.
+- Do not submit and block from INSIDE the pool's own tasks: if every thread waits for queue space,
+  nothing drains the queue.
+
+IMPORTANT NOTES:
+- λ × W assumes the tasks WAIT (I/O, sleep). For CPU-bound tasks more threads than cores only add
+  switching: give those a ceiling near the number of cores.
+- Before the first task has finished, W is unknown: the target is then simply the number of running
+  plus queued tasks (bounded by the ceiling).
+*/
+
+public final class AdaptiveThreadPool extends ThreadPoolExecutor {
+    private static final long TICK_MILLIS = 50;
+    private static final long DRAIN_NANOS = TimeUnit.MILLISECONDS.toNanos(100);   // clear a backlog within ~100 ms
+    private static final long SUBMITTER_RESIZE_GAP_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final double HEADROOM = 1.2;
+    private static final double SMOOTHING = 0.5;
+
+    private final int floor;
+    private final int ceiling;
+    private final LongAdder arrivals = new LongAdder();
+    private final LongAdder completions = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final ThreadLocal<long[]> startedAt = ThreadLocal.withInitial(() -> new long[1]);
+    private final AtomicLong lastSubmitterResize = new AtomicLong();
+    private final ScheduledExecutorService controller;
+
+    private volatile double arrivalsPerSecond;
+    private volatile double serviceNanos;   // 0 until the first task has finished
+    private long lastTick = System.nanoTime();   // controller thread only
+
+    public AdaptiveThreadPool(int floor, int ceiling, int queueCapacity) {
+        super(floor, floor, 1, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity), new WaitForSpace());
+        if (floor < 1 || ceiling < floor) {
+            throw new IllegalArgumentException("Need 1 <= floor <= ceiling, got floor=" + floor + ", ceiling=" + ceiling);
+        }
+        this.floor = floor;
+        this.ceiling = ceiling;
+        this.controller = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "adaptive-pool-controller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        controller.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        arrivals.increment();
+        super.execute(task);
+        // A backlog larger than the pool: do not wait for the next tick to grow
+        if (getQueue().size() > getMaximumPoolSize() && getMaximumPoolSize() < ceiling) {
+            long now = System.nanoTime();
+            long last = lastSubmitterResize.get();
+            if (now - last > SUBMITTER_RESIZE_GAP_NANOS && lastSubmitterResize.compareAndSet(last, now)) {
+                resize(false);
+            }
+        }
+    }
+
+    // The size the controller is currently aiming for.
+    public int targetPoolSize() {
+        return getMaximumPoolSize();
+    }
+
+    public double arrivalsPerSecond() {
+        return arrivalsPerSecond;
+    }
+
+    public double serviceTimeMillis() {
+        return serviceNanos / 1e6;
+    }
+
+    // Number of execute() calls that had to wait for queue space.
+    public long throttledSubmits() {
+        return throttled.sum();
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable task) {
+        startedAt.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    protected void afterExecute(Runnable task, Throwable failure) {
+        busyNanos.add(System.nanoTime() - startedAt.get()[0]);
+        completions.increment();
+    }
+
+    @Override
+    protected void terminated() {
+        controller.shutdownNow();
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        double seconds = (now - lastTick) / 1e9;
+        lastTick = now;
+
+        double rate = arrivals.sumThenReset() / seconds;
+        arrivalsPerSecond = SMOOTHING * rate + (1 - SMOOTHING) * arrivalsPerSecond;
+        long done = completions.sumThenReset();
+        long busy = busyNanos.sumThenReset();
+        if (done > 0) {
+            double measured = (double) busy / done;
+            serviceNanos = serviceNanos == 0 ? measured : SMOOTHING * measured + (1 - SMOOTHING) * serviceNanos;
+        }
+        resize(true);
+    }
+
+    private synchronized void resize(boolean mayShrink) {
+        if (isShutdown()) {
+            return;
+        }
+        int queued = getQueue().size();
+        double w = serviceNanos;
+        int desired;
+        if (w == 0) {
+            desired = getActiveCount() + queued;
+        } else {
+            double littlesLaw = arrivalsPerSecond * w / 1e9;
+            desired = (int) Math.ceil(HEADROOM * littlesLaw + queued * w / DRAIN_NANOS);
+        }
+        desired = Math.max(floor, Math.min(ceiling, desired));
+
+        int current = getMaximumPoolSize();
+        if (desired > current) {
+            setMaximumPoolSize(desired);   // maximum first: core may never exceed it
+            setCorePoolSize(desired);
+        } else if (desired < current && mayShrink) {
+            int next = current - Math.max(1, (current - desired) / 4);
+            setCorePoolSize(next);
+            setMaximumPoolSize(next);   // idle threads above the new size exit now
+        }
+    }
+
+    // Backpressure: the caller waits for queue space instead of the task being dropped.
+    private static final class WaitForSpace implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            ((AdaptiveThreadPool) executor).throttled.increment();
+            try {
+                while (!executor.isShutdown()) {
+                    if (executor.getQueue().offer(task, 10, TimeUnit.MILLISECONDS)) {
+                        // shutdown() may have happened while we waited: do not leave the task behind
+                        if (executor.isShutdown() && executor.remove(task)) {
+                            break;
+                        }
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for queue space", e);
+            }
+            throw new RejectedExecutionException("Pool is shut down");
+        }
+    }
+}
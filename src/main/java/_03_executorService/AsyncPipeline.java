@@ -0,0 +1,222 @@
+package main.java._03_executorService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/*
+===============================================
+ASYNC PIPELINES OVER CALLABLES: NO THREAD WAITS FOR A RESULT
+===============================================
+
+THE PROBLEM:
+- `future.get()` BLOCKS the calling thread. A chain "call A, then B with A's result" written with
+  `get()` keeps one thread parked per chain, doing nothing, for the whole time A and B run.
+- 10,000 chains in flight → 10,000 parked threads (or a queue of chains waiting for a free thread).
+
+THE IDEA:
+- Return a `CompletableFuture` and say WHAT TO DO when the result arrives, instead of waiting for it.
+  The next step is started by whichever thread finishes the previous one. Nobody is parked.
+
+WHAT THIS CLASS ADDS TO CompletableFuture:
+- `call(callable, executor)` → runs a `Callable` (like `ReturnValueTask`) and returns a future.
+  Cancelling that future INTERRUPTS the running task; a plain `CompletableFuture` never does.
+- `thenCompose(future, next)` → "then run the next async step". Cancelling the result cancels
+  whichever step is current (plain `thenCompose` does not cancel backwards).
+- `allOf(futures)` → all results as a list; the first failure fails the whole and cancels the rest.
+- `anyOf(futures)` → the first SUCCESSFUL result; the losers are cancelled. Fails only if all fail.
+- `withTimeout(future, timeout, unit, timer)` → fails with `TimeoutException` after the timeout and
+  cancels the work. The timeout is a timer entry, not a waiting thread (a `TimerWheelScheduler`
+  makes 10,000 timeouts cheap: O(1) to start and to cancel when the work finishes in time).
+
+IMPORTANT NOTES:
+- Callbacks run on the thread that completes the previous step: keep them short, or hand real work
+  to an executor with `call()`.
+- Cancellation only stops a task that reacts to interruption (sleep, wait, I/O, isInterrupted()).
+*/
+
+public final class AsyncPipeline {
+    private AsyncPipeline() {
+    }
+
+    public static <T> CompletableFuture<T> call(Callable<T> task, Executor executor) {
+        TaskFuture<T> future = new TaskFuture<>();
+        FutureTask<Void> runner = new FutureTask<>(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }, null);
+        future.runner = runner;
+        try {
+            executor.execute(runner);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    public static <T, U> CompletableFuture<U> thenCompose(CompletableFuture<T> first,
+                                                          Function<? super T, ? extends CompletableFuture<U>> next) {
+        CompletableFuture<U> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<U>> current = new AtomicReference<>();
+        first.whenComplete((value, failure) -> {
+            if (failure != null) {
+                result.completeExceptionally(unwrap(failure));
+                return;
+            }
+            if (result.isDone()) {
+                return;   // cancelled while the first step ran: do not start the next one
+            }
+            CompletableFuture<U> second;
+            try {
+                second = next.apply(value);
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            current.set(second);
+            second.whenComplete((secondValue, secondFailure) -> completeFrom(result, secondValue, secondFailure));
+            if (result.isCancelled()) {
+                second.cancel(true);   // cancelled between the check above and set()
+            }
+        });
+        result.whenComplete((value, failure) -> {
+            if (result.isCancelled()) {
+                first.cancel(true);
+                CompletableFuture<U> second = current.get();
+                if (second != null) {
+                    second.cancel(true);
+                }
+            }
+        });
+        return result;
+    }
+
+    public static <T> CompletableFuture<List<T>> allOf(List<? extends CompletableFuture<? extends T>> futures) {
+        CompletableFuture<List<T>> result = new CompletableFuture<>();
+        if (futures.isEmpty()) {
+            result.complete(new ArrayList<>());
+            return result;
+        }
+        Object[] values = new Object[futures.size()];
+        AtomicInteger remaining = new AtomicInteger(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            int index = i;
+            futures.get(i).whenComplete((value, failure) -> {
+                if (failure != null) {
+                    result.completeExceptionally(unwrap(failure));
+                    return;
+                }
+                values[index] = value;
+                if (remaining.decrementAndGet() == 0) {   // the decrement publishes values[index]
+                    List<T> list = new ArrayList<>(values.length);
+                    for (Object v : values) {
+                        @SuppressWarnings("unchecked")
+                        T t = (T) v;
+                        list.add(t);
+                    }
+                    result.complete(list);
+                }
+            });
+        }
+        result.whenComplete((value, failure) -> {
+            if (failure != null) {
+                cancelAll(futures);   // failed or cancelled: the other results are not needed any more
+            }
+        });
+        return result;
+    }
+
+    public static <T> CompletableFuture<T> anyOf(List<? extends CompletableFuture<? extends T>> futures) {
+        if (futures.isEmpty()) {
+            throw new IllegalArgumentException("anyOf needs at least one future");
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<? extends T> future : futures) {
+            future.whenComplete((value, failure) -> {
+                if (failure == null) {
+                    result.complete(value);
+                } else if (failures.incrementAndGet() == futures.size()) {
+                    result.completeExceptionally(unwrap(failure));   // the last failure stands for all
+                }
+            });
+        }
+        result.whenComplete((value, failure) -> cancelAll(futures));   // losers, or everything on cancel
+        return result;
+    }
+
+    public static <T> CompletableFuture<T> withTimeout(CompletableFuture<T> future, long timeout, TimeUnit unit,
+                                                       ScheduledExecutorService timer) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        ScheduledFuture<?> timeoutTask = timer.schedule(() -> {
+            if (result.completeExceptionally(new TimeoutException("No result after " + timeout + " " + unit))) {
+                future.cancel(true);
+            }
+        }, timeout, unit);
+        future.whenComplete((value, failure) -> {
+            timeoutTask.cancel(false);
+            completeFrom(result, value, failure);
+        });
+        result.whenComplete((value, failure) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private static <T> void completeFrom(CompletableFuture<T> target, T value, Throwable failure) {
+        if (failure == null) {
+            target.complete(value);
+        } else {
+            target.completeExceptionally(unwrap(failure));
+        }
+    }
+
+    private static void cancelAll(List<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    // Dependent stages wrap the original exception; callers want to see the original.
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    // A CompletableFuture that can interrupt the task producing its value.
+    private static final class TaskFuture<T> extends CompletableFuture<T> {
+        volatile Future<?> runner;
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Future<?> task = runner;
+            if (cancelled && task != null) {
+                task.cancel(true);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public <U> CompletableFuture<U> newIncompleteFuture() {
+            return new CompletableFuture<>();   // later stages do not own the task
+        }
+    }
+}
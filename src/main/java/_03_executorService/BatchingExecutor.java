@@ -0,0 +1,274 @@
+package main.java._03_executorService;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+===============================================
+BATCH SUBMISSION: ONE LOCK, ONE WAKE-UP ROUND PER BATCH
+===============================================
+
+THE PROBLEM:
+- `for (...) service.execute(task)` pays the full price per task: take the queue lock, add a node,
+  release the lock, check for an idle thread and maybe wake it. For 1,000 tasks that is 1,000 lock
+  round trips and many wake-up attempts for threads that are already awake.
+
+THE IDEA:
+- `executeAll(tasks)` takes the lock ONCE, appends the whole batch, and wakes
+  min(batch size, idle workers) threads in one pass. Waking more would be useless: the others are busy
+  and will take the next task when they finish.
+- `invokeAllFast(callables)` submits a batch of Callables the same way and waits for all of them.
+  Unlike `invokeAll`, it FAILS FAST: when one task throws, the rest of the batch is cancelled
+  (queued tasks never start, running ones are interrupted).
+
+HOW IT WORKS:
+- A fixed pool of workers and one `ArrayDeque` guarded by a `ReentrantLock`. An idle worker waits on
+  the lock's `Condition`; the lock also counts how many workers are waiting.
+- Workers still take ONE task per lock acquisition, so a batch is spread over all workers at once.
+
+IMPORTANT NOTES:
+- The batch is added all-or-nothing: if the executor is shut down, the whole batch is rejected.
+- `invokeAllFast` returns the Futures in input order; after a failure, the cancelled ones throw
+  `CancellationException` from `get()`.
+- Worth it for many SHORT tasks; for 1-second tasks the submission cost does not matter.
+*/
+
+public class BatchingExecutor extends AbstractExecutorService {
+    private static final int RUNNING = 0;
+    private static final int SHUTDOWN = 1;
+    private static final int STOP = 2;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+    private final Worker[] workers;
+    private final CountDownLatch terminated;
+    private int idleWorkers;   // guarded by lock
+    private volatile int runState = RUNNING;
+
+    public BatchingExecutor(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        workers = new Worker[threads];
+        terminated = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker("batching-" + i);
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        lock.lock();
+        try {
+            checkRunning();
+            queue.addLast(task);
+            if (idleWorkers > 0) {
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void executeAll(Collection<? extends Runnable> tasks) {
+        Runnable[] batch = tasks.toArray(new Runnable[0]);
+        for (Runnable task : batch) {
+            if (task == null) {
+                throw new NullPointerException();
+            }
+        }
+        lock.lock();
+        try {
+            checkRunning();
+            for (Runnable task : batch) {
+                queue.addLast(task);
+            }
+            for (int i = Math.min(batch.length, idleWorkers); i > 0; i--) {
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Like invokeAll, but one batch insertion, and the first failure cancels the rest of the batch.
+    public <T> List<Future<T>> invokeAllFast(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+        AtomicBoolean failed = new AtomicBoolean();
+        List<BatchTask<T>> batch = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            batch.add(new BatchTask<>(task, batch, failed));
+        }
+        executeAll(batch);
+        try {
+            for (BatchTask<T> future : batch) {
+                if (!future.isDone()) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException | CancellationException ignored) {
+                        // reported through the returned Future
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            cancelAll(batch);
+            throw e;
+        }
+        return new ArrayList<>(batch);
+    }
+
+    @Override
+    public void shutdown() {
+        lock.lock();
+        try {
+            if (runState == RUNNING) {
+                runState = SHUTDOWN;
+            }
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending;
+        lock.lock();
+        try {
+            runState = STOP;
+            pending = new ArrayList<>(queue);
+            queue.clear();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Worker worker : workers) {
+            worker.interrupt();
+        }
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return runState != RUNNING;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    private void checkRunning() {
+        if (runState != RUNNING) {
+            throw new RejectedExecutionException("executor has been shut down");
+        }
+    }
+
+    // Next task, or null when the worker should exit.
+    private Runnable take() {
+        lock.lock();
+        try {
+            while (true) {
+                if (runState == STOP) {
+                    return null;
+                }
+                Runnable task = queue.pollFirst();
+                if (task != null) {
+                    return task;
+                }
+                if (runState == SHUTDOWN) {
+                    return null;
+                }
+                idleWorkers++;
+                try {
+                    notEmpty.awaitUninterruptibly();   // shutdownNow signals, the interrupt is for the task
+                } finally {
+                    idleWorkers--;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static <T> void cancelAll(List<BatchTask<T>> batch) {
+        for (BatchTask<T> future : batch) {
+            future.cancel(true);
+        }
+    }
+
+    private static final class BatchTask<T> extends FutureTask<T> {
+        private final List<BatchTask<T>> batch;
+        private final AtomicBoolean failed;
+
+        BatchTask(Callable<T> task, List<BatchTask<T>> batch, AtomicBoolean failed) {
+            super(task);
+            this.batch = batch;
+            this.failed = failed;
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                get();
+            } catch (ExecutionException e) {
+                if (failed.compareAndSet(false, true)) {
+                    cancelAll(batch);   // first failure: the rest of the batch is useless
+                }
+            } catch (InterruptedException | CancellationException ignored) {
+                // cannot happen: the task is done and was not cancelled
+            }
+        }
+    }
+
+    private final class Worker extends Thread {
+        Worker(String name) {
+            super(name);
+        }
+
+        @Override
+        public void run() {
+            try {
+                Runnable task;
+                while ((task = take()) != null) {
+                    try {
+                        task.run();
+                    } catch (Throwable e) {
+                        getUncaughtExceptionHandler().uncaughtException(this, e);   // keep the worker alive
+                    }
+                    Thread.interrupted();   // an interrupt for this task must not leak into the next one
+                }
+            } finally {
+                terminated.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package main.java._03_executorService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+===============================================
+DEADLINE EXECUTOR: EARLIEST DEADLINE FIRST
+===============================================
+
+THE PROBLEM:
+- A normal pool runs tasks FIFO. A click handler that must answer within 50 ms waits behind ten
+  1-second report jobs that happened to arrive first.
+
+THE IDEA:
+- Every task carries a DEADLINE; the queue is sorted by deadline, and a free thread always takes the
+  task whose deadline is EARLIEST ("earliest deadline first", EDF).
+- Two ways to submit:
+  - With a real deadline: `execute(task, 50, MILLISECONDS)`. The task must START before its deadline.
+    If it has not started by then, the answer is useless: it is SHED (skipped, its Future cancelled)
+    instead of wasting a thread.
+  - With a priority: `execute(task, Priority.LOW)`. No real deadline, never shed. The priority gives
+    a VIRTUAL deadline: arrival time + 0 (HIGH), + 500 ms (NORMAL) or + 5 s (LOW).
+
+AGING (no starvation):
+- A virtual deadline does not move while the task waits. A LOW task that has waited 5 seconds has
+  the same rank as a HIGH task arriving now, and after that it wins. Low-priority work is delayed
+  under load, never starved.
+
+METRICS:
+- met (started before the deadline and finished by it), missed (finished after it), shed
+  (never started): per-deadline-task counters, plus the lateness of missed tasks in a `LatencyHistogram`.
+
+IMPORTANT NOTES:
+- The queue (`PriorityBlockingQueue`) costs O(log n) per task and has one lock: meant for tasks of
+  milliseconds and more, not for millions of tiny ones.
+- Plain `execute(Runnable)` and `submit()` use Priority.NORMAL.
+- A running task is never interrupted because its deadline passed.
+*/
+
+public class DeadlineExecutor extends ThreadPoolExecutor {
+    public enum Priority {
+        HIGH(0), NORMAL(500), LOW(5000);
+
+        private final long agingNanos;
+
+        Priority(long agingMillis) {
+            this.agingNanos = TimeUnit.MILLISECONDS.toNanos(agingMillis);
+        }
+    }
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder met = new LongAdder();
+    private final LongAdder missed = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LatencyHistogram missLateness = new LatencyHistogram();
+
+    public DeadlineExecutor(int threads) {
+        super(threads, threads, 0, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>());
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        execute(task, Priority.NORMAL);
+    }
+
+    public void execute(Runnable task, Priority priority) {
+        super.execute(new DeadlineTask(task, null, System.nanoTime() + priority.agingNanos, false));
+    }
+
+    // The task must start within the timeout, or it is shed.
+    public void execute(Runnable task, long timeout, TimeUnit unit) {
+        super.execute(new DeadlineTask(task, null, System.nanoTime() + unit.toNanos(timeout), true));
+    }
+
+    // The future is cancelled if the task is shed.
+    public <T> Future<T> submit(Callable<T> task, long timeout, TimeUnit unit) {
+        FutureTask<T> future = new FutureTask<>(task);
+        super.execute(new DeadlineTask(future, future, System.nanoTime() + unit.toNanos(timeout), true));
+        return future;
+    }
+
+    public long deadlinesMet() {
+        return met.sum();
+    }
+
+    public long deadlinesMissed() {
+        return missed.sum();
+    }
+
+    public long tasksShed() {
+        return shed.sum();
+    }
+
+    // How late missed tasks finished, in nanoseconds.
+    public LatencyHistogram missLatenessHistogram() {
+        return missLateness;
+    }
+
+    // Returns the original tasks, not the deadline wrappers.
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = new ArrayList<>();
+        for (Runnable task : super.shutdownNow()) {
+            pending.add(task instanceof DeadlineTask ? ((DeadlineTask) task).task : task);
+        }
+        return pending;
+    }
+
+    private final class DeadlineTask implements Runnable, Comparable<DeadlineTask> {
+        final Runnable task;
+        final Future<?> future;
+        final long deadline;   // real or virtual, in System.nanoTime() terms
+        final boolean sheddable;
+        final long order = sequence.getAndIncrement();   // FIFO among equal deadlines
+
+        DeadlineTask(Runnable task, Future<?> future, long deadline, boolean sheddable) {
+            if (task == null) {
+                throw new NullPointerException();
+            }
+            this.task = task;
+            this.future = future;
+            this.deadline = deadline;
+            this.sheddable = sheddable;
+        }
+
+        @Override
+        public void run() {
+            if (!sheddable) {
+                task.run();
+                return;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                shed.increment();
+                if (future != null) {
+                    future.cancel(false);
+                }
+                return;
+            }
+            try {
+                task.run();
+            } finally {
+                long late = System.nanoTime() - deadline;
+                if (late > 0) {
+                    missed.increment();
+                    missLateness.record(late);
+                } else {
+                    met.increment();
+                }
+            }
+        }
+
+        @Override
+        public int compareTo(DeadlineTask other) {
+            long difference = deadline - other.deadline;   // overflow-safe for nanoTime values
+            if (difference != 0) {
+                return difference < 0 ? -1 : 1;
+            }
+            return Long.compare(order, other.order);
+        }
+    }
+}
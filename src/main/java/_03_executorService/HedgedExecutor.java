@@ -0,0 +1,215 @@
+package main.java._03_executorService;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+===============================================
+HEDGED EXECUTION: DO NOT WAIT FOR THE STRAGGLER
+===============================================
+
+THE PROBLEM:
+- A call that usually takes 100 ms sometimes takes 5 seconds (a GC pause, a slow disk, a busy server).
+- The caller cannot tell a slow attempt from a lost one, so it waits for the whole timeout.
+- At p99, these rare stragglers ARE the latency.
+
+THE IDEA ("The Tail at Scale"):
+- If an attempt has not finished by the time 95% of attempts of this kind have finished, start a
+  SECOND attempt (a "hedge"). Whichever finishes first wins; the other is cancelled.
+- A straggler is usually bad luck of ONE attempt: the second attempt is very likely to be normal.
+- Cost: only the slowest ~5% of calls run twice, so the extra load is ~5%.
+
+HOW IT WORKS:
+- Every call has a TASK TYPE (a string like "lookup"). Per type, the latency of recent attempts is
+  kept in a `LatencyHistogram`; when it holds 1,000 samples it becomes the "previous" window and a
+  fresh one starts, so the hedge delay follows the current behaviour.
+- The hedge delay = the configured percentile of the previous window (or of the current one while
+  there is no previous window yet). With fewer than 10 samples, there is no hedging.
+- The primary attempt starts at once; a timer entry starts the hedge after the delay, unless the
+  call has finished by then.
+- An attempt that loses is cancelled (interrupted) and its elapsed time is recorded as a sample:
+  a lower bound, so stragglers still pull the percentile up and the hedge rate stays near the target.
+
+IMPORTANT NOTES:
+- Only for IDEMPOTENT calls (reads, lookups): the task may run twice.
+- Failures are not hedged: if an attempt fails and no hedge is running, the call fails.
+- At most one hedge per call.
+*/
+
+public class HedgedExecutor {
+    private static final int WINDOW = 1000;
+    private static final int MIN_SAMPLES = 10;
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService timer;
+    private final double hedgePercentile;
+    private final ConcurrentHashMap<String, TypeStats> stats = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    // hedgePercentile: e.g. 0.95 → hedge calls slower than 95% of recent attempts of their type.
+    public HedgedExecutor(ExecutorService executor, ScheduledExecutorService timer, double hedgePercentile) {
+        if (hedgePercentile <= 0 || hedgePercentile >= 1) {
+            throw new IllegalArgumentException("Hedge percentile must be between 0 and 1, got " + hedgePercentile);
+        }
+        this.executor = executor;
+        this.timer = timer;
+        this.hedgePercentile = hedgePercentile;
+    }
+
+    public <T> CompletableFuture<T> submit(String taskType, Callable<T> task) {
+        calls.increment();
+        TypeStats typeStats = stats.computeIfAbsent(taskType, type -> new TypeStats());
+        return new HedgedCall<>(task, typeStats).start();
+    }
+
+    // Current hedge delay for a task type in milliseconds, or -1 if there are not enough samples yet.
+    public double hedgeDelayMillis(String taskType) {
+        TypeStats typeStats = stats.get(taskType);
+        return typeStats == null || typeStats.hedgeDelayNanos < 0 ? -1 : typeStats.hedgeDelayNanos / 1e6;
+    }
+
+    public long calls() {
+        return calls.sum();
+    }
+
+    // Calls that started a second attempt.
+    public long hedges() {
+        return hedges.sum();
+    }
+
+    // Calls where the second attempt finished first.
+    public long hedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    private final class TypeStats {
+        volatile LatencyHistogram current = new LatencyHistogram();
+        volatile LatencyHistogram previous;
+        volatile long hedgeDelayNanos = -1;
+
+        void record(long nanos) {
+            LatencyHistogram histogram = current;
+            histogram.record(nanos);
+            long count = histogram.count();
+            if (count % RECOMPUTE_EVERY == 0 || count == MIN_SAMPLES) {
+                recompute(histogram, count);
+            }
+        }
+
+        private synchronized void recompute(LatencyHistogram histogram, long count) {
+            if (histogram != current) {
+                return;   // another thread rotated the window already
+            }
+            if (count >= WINDOW) {
+                previous = histogram;
+                current = new LatencyHistogram();
+            }
+            LatencyHistogram source = previous != null ? previous : histogram;
+            if (source.count() >= MIN_SAMPLES) {
+                hedgeDelayNanos = source.percentile(hedgePercentile);
+            }
+        }
+    }
+
+    private final class HedgedCall<T> {
+        final Callable<T> task;
+        final TypeStats typeStats;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<T> primary;   // guarded by this, like the fields below
+        CompletableFuture<T> hedge;
+        ScheduledFuture<?> hedgeTimer;
+        int running;
+        boolean hedgingClosed;
+
+        HedgedCall(Callable<T> task, TypeStats typeStats) {
+            this.task = task;
+            this.typeStats = typeStats;
+        }
+
+        CompletableFuture<T> start() {
+            long delay = typeStats.hedgeDelayNanos;
+            synchronized (this) {
+                running = 1;
+                primary = attempt(false);
+                if (delay >= 0 && !result.isDone()) {
+                    hedgeTimer = timer.schedule(this::startHedge, delay, TimeUnit.NANOSECONDS);
+                }
+            }
+            result.whenComplete((value, failure) -> {
+                if (result.isCancelled()) {
+                    cancelAll();
+                }
+            });
+            return result;
+        }
+
+        private void startHedge() {
+            synchronized (this) {
+                if (result.isDone() || hedgingClosed) {
+                    return;
+                }
+                hedgingClosed = true;
+                running++;
+                hedges.increment();
+                hedge = attempt(true);
+            }
+        }
+
+        private CompletableFuture<T> attempt(boolean isHedge) {
+            long startedAt = System.nanoTime();
+            CompletableFuture<T> attempt = AsyncPipeline.call(task, executor);
+            attempt.whenComplete((value, failure) -> {
+                typeStats.record(System.nanoTime() - startedAt);   // a cancelled loser counts as a lower bound
+                if (failure == null) {
+                    if (result.complete(value)) {
+                        if (isHedge) {
+                            hedgeWins.increment();
+                        }
+                        cancelAll();
+                    }
+                    return;
+                }
+                boolean last;
+                synchronized (this) {
+                    hedgingClosed = true;
+                    last = --running == 0;
+                }
+                if (last) {
+                    cancelAll();
+                    result.completeExceptionally(failure);
+                }
+            });
+            return attempt;
+        }
+
+        private void cancelAll() {
+            CompletableFuture<T> first;
+            CompletableFuture<T> second;
+            ScheduledFuture<?> pendingHedge;
+            synchronized (this) {
+                hedgingClosed = true;
+                first = primary;
+                second = hedge;
+                pendingHedge = hedgeTimer;
+            }
+            if (pendingHedge != null) {
+                pendingHedge.cancel(false);
+            }
+            if (first != null) {
+                first.cancel(true);
+            }
+            if (second != null) {
+                second.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package main.java._03_executorService;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/*
+===============================================
+IDLE WORKERS: PARK AND UNPARK WITHOUT A LOCK
+===============================================
+
+USED BY:
+- `WorkStealingExecutor` and `PooledTaskExecutor`: pools whose queues have no lock, so there is no
+  `Condition` to wait on.
+
+HOW IT WORKS:
+- Worker i has a slot. A worker that found no task puts itself in its slot, checks ONE more time
+  whether work arrived, and only then parks. The re-check closes the window where a task is added just
+  before the worker parks: either the submitter sees the worker in its slot, or the worker sees the task.
+- `signalOne()` (after a submit) empties ONE occupied slot and unparks that worker; a counter lets it
+  return at once when nobody is parked, the common case under load.
+- `wakeAll()` (on shutdown) unparks every worker that is parked or about to park.
+
+IMPORTANT NOTES:
+- No allocation and no lock: `LockSupport.unpark` on a thread that is not parked yet simply makes its
+  next `park` return at once.
+*/
+
+final class IdleWorkers {
+    private final AtomicReferenceArray<Thread> parked;   // slot i: worker i while it is (about to be) parked
+    private final AtomicInteger parkedCount = new AtomicInteger();
+
+    IdleWorkers(int workers) {
+        parked = new AtomicReferenceArray<>(workers);
+    }
+
+    // Worker `index` found no task: parks unless `wakeUp` reports work or a state change since its last scan.
+    void await(int index, BooleanSupplier wakeUp) {
+        Thread self = Thread.currentThread();
+        parked.set(index, self);
+        parkedCount.incrementAndGet();
+        if (!wakeUp.getAsBoolean()) {
+            LockSupport.park(this);
+        }
+        if (parked.compareAndSet(index, self, null)) {
+            parkedCount.decrementAndGet();   // did not park, spurious wake-up or shutdown: nobody signalled us
+        }
+    }
+
+    void signalOne() {
+        if (parkedCount.get() > 0) {
+            for (int i = 0; i < parked.length(); i++) {
+                Thread worker = parked.get(i);
+                if (worker != null && parked.compareAndSet(i, worker, null)) {
+                    parkedCount.decrementAndGet();
+                    LockSupport.unpark(worker);
+                    return;
+                }
+            }
+        }
+    }
+
+    void wakeAll() {
+        for (int i = 0; i < parked.length(); i++) {
+            Thread worker = parked.get(i);
+            if (worker != null) {
+                LockSupport.unpark(worker);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package main.java._03_executorService;
+
+// What `InstrumentedExecutorService` shows in JMX (jconsole, VisualVM, ...). Times are in microseconds.
+public interface InstrumentedExecutorMXBean {
+    long getSubmitted();
+
+    long getCompleted();
+
+    long getFailed();
+
+    long getRejected();
+
+    long getQueueDepth();
+
+    long getActiveCount();
+
+    long getQueueWaitP50Micros();
+
+    long getQueueWaitP99Micros();
+
+    long getQueueWaitP999Micros();
+
+    long getRunTimeP50Micros();
+
+    long getRunTimeP99Micros();
+
+    long getRunTimeP999Micros();
+
+    void resetHistograms();
+}
@@ -0,0 +1,249 @@
+package main.java._03_executorService;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+===============================================
+INSTRUMENTED EXECUTOR: WHERE DOES THE TIME GO?
+===============================================
+
+THE QUESTION:
+- A task that took 3 seconds end to end: did it RUN for 3 seconds, or did it WAIT in the queue
+  for 2 seconds because all threads were busy?
+- Waiting → the pool is too small (or the tasks block). Running → the pool size does not matter,
+  the task itself is slow.
+
+WHAT THIS DECORATOR DOES:
+- Wraps any `ExecutorService` (the "delegate"); the delegate still does all the work.
+- Every task is wrapped and gets three timestamps: ENQUEUED (at submit), STARTED, ENDED.
+  - queue wait = started - enqueued → `queueWait` histogram
+  - run time   = ended - started    → `runTime` histogram
+- Counters: submitted, completed, failed (threw), rejected (delegate refused it),
+  active (running now) and queue depth (submitted but not started yet, nor returned by `shutdownNow()`).
+- Tasks given to `submit()` never "fail" here: their `Future` catches the exception.
+- Give the delegate a rejection policy that THROWS (the default `AbortPolicy`). A policy that drops
+  tasks silently (`DiscardPolicy`, `DiscardOldestPolicy`) hides them from this decorator: they stay
+  in the queue depth forever.
+
+LOW OVERHEAD:
+- Three `System.nanoTime()` calls and a few `LongAdder` increments per task; histograms are lock-free
+  (`LatencyHistogram`). No lock is added to the submit or run path.
+- The histograms are for latency only; counts come from their own `LongAdder`s, so resetting the
+  histograms (a JMX operation) does not disturb queue depth, active or completed.
+
+JMX:
+- With a name, the executor registers itself as an MXBean under
+  `main.java._03_executorService:type=InstrumentedExecutor,name="<name>"` (quoted, so any name works).
+  Open jconsole, pick the process, and watch queue wait and run time live.
+*/
+
+public final class InstrumentedExecutorService extends AbstractExecutorService implements InstrumentedExecutorMXBean {
+    private final ExecutorService delegate;
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LatencyHistogram runTime = new LatencyHistogram();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder finished = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder drained = new LongAdder();   // queued tasks returned by shutdownNow()
+    private final ObjectName objectName;
+
+    public InstrumentedExecutorService(ExecutorService delegate) {
+        this.delegate = delegate;
+        this.objectName = null;
+    }
+
+    // Also registers the executor in JMX under the given name.
+    public InstrumentedExecutorService(String name, ExecutorService delegate) {
+        this.delegate = delegate;
+        try {
+            this.objectName = new ObjectName("main.java._03_executorService:type=InstrumentedExecutor,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Cannot register executor '" + name + "' in JMX", e);
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        submitted.increment();
+        try {
+            delegate.execute(new TimedTask(task, System.nanoTime()));
+        } catch (RejectedExecutionException e) {
+            submitted.decrement();
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    public LatencyHistogram queueWaitHistogram() {
+        return queueWait;
+    }
+
+    public LatencyHistogram runTimeHistogram() {
+        return runTime;
+    }
+
+    public String snapshot() {
+        return String.format("submitted=%d completed=%d failed=%d rejected=%d queued=%d active=%d%n"
+                        + "  queue wait: %s%n  run time:   %s",
+                getSubmitted(), getCompleted(), getFailed(), getRejected(), getQueueDepth(), getActiveCount(),
+                queueWait, runTime);
+    }
+
+    @Override
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    @Override
+    public long getCompleted() {
+        return finished.sum() - failed.sum();
+    }
+
+    @Override
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    @Override
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public long getQueueDepth() {
+        return Math.max(0, submitted.sum() - started.sum() - drained.sum());
+    }
+
+    @Override
+    public long getActiveCount() {
+        return Math.max(0, started.sum() - finished.sum());
+    }
+
+    @Override
+    public long getQueueWaitP50Micros() {
+        return queueWait.percentile(0.50) / 1000;
+    }
+
+    @Override
+    public long getQueueWaitP99Micros() {
+        return queueWait.percentile(0.99) / 1000;
+    }
+
+    @Override
+    public long getQueueWaitP999Micros() {
+        return queueWait.percentile(0.999) / 1000;
+    }
+
+    @Override
+    public long getRunTimeP50Micros() {
+        return runTime.percentile(0.50) / 1000;
+    }
+
+    @Override
+    public long getRunTimeP99Micros() {
+        return runTime.percentile(0.99) / 1000;
+    }
+
+    @Override
+    public long getRunTimeP999Micros() {
+        return runTime.percentile(0.999) / 1000;
+    }
+
+    @Override
+    public void resetHistograms() {
+        queueWait.reset();
+        runTime.reset();
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+        unregister();
+    }
+
+    // Returns the original tasks, not the timing wrappers.
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = new ArrayList<>();
+        for (Runnable task : delegate.shutdownNow()) {
+            if (task instanceof TimedTask) {
+                drained.increment();   // will never start: no longer queued
+                pending.add(((TimedTask) task).task);
+            } else {
+                pending.add(task);
+            }
+        }
+        unregister();
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    private void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            // Already gone: nothing to clean up
+        }
+    }
+
+    private final class TimedTask implements Runnable {
+        final Runnable task;
+        final long enqueuedAt;
+
+        TimedTask(Runnable task, long enqueuedAt) {
+            this.task = task;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        @Override
+        public void run() {
+            long startedAt = System.nanoTime();
+            started.increment();
+            queueWait.record(startedAt - enqueuedAt);
+            boolean success = false;
+            try {
+                task.run();
+                success = true;
+            } finally {
+                if (!success) {
+                    failed.increment();   // before finished, so getCompleted() never counts it
+                }
+                runTime.record(System.nanoTime() - startedAt);
+                finished.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package main.java._03_executorService;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+===============================================
+KEYED SERIAL EXECUTOR: ORDER PER KEY, PARALLEL ACROSS KEYS
+===============================================
+
+THE PROBLEM:
+- `newSingleThreadExecutor` keeps tasks in order, which is often needed for the events of ONE entity
+  (one account, one order, one user).
+- But using ONE single-thread executor for ALL entities also puts unrelated entities in a line:
+  account A's events wait behind account B's, and only one core is used.
+
+THE IDEA:
+- Every key gets its own small FIFO queue. A key's tasks run one after another, in submission order.
+- Different keys run at the same time on a shared pool (any `Executor`).
+- At most ONE pool thread works on a key at any moment. It runs that key's queued tasks, then gives
+  the thread back.
+
+HOW IT WORKS:
+- `pending` counts the key's queued + running tasks. The submitter that raises it from 0 to 1
+  hands the key's queue to the pool; everyone else just adds to the queue.
+- The pool thread runs the key's tasks until `pending` drops back to 0.
+- NO HEAD-OF-LINE BLOCKING: after 16 tasks, the key goes to the BACK of the pool's queue, so a key
+  with a long backlog cannot keep a thread away from other keys.
+- IDLE CLEANUP: when a key's queue becomes empty, it is removed from the map (inside `compute`, so a
+  concurrent submit either sees the old queue before removal or creates a fresh one after).
+  Millions of short-lived keys do not leak memory.
+
+IMPORTANT NOTES:
+- Order is per key only. Tasks of different keys have no order relative to each other.
+- A task that blocks still blocks its key (that is what "in order" means), but no other key.
+- Once the pool is shut down (an `ExecutorService` reporting `isShutdown()`), new tasks are REJECTED.
+  Tasks other threads already queued behind a rejected one are still run, on the submitting thread,
+  so none of them is stranded in the queue.
+- If a pool that is not shut down rejects a key (saturated), the submitting thread runs that key's
+  queued tasks itself.
+*/
+
+public class KeyedSerialExecutor<K> {
+    private static final int BATCH = 16;
+
+    private final ConcurrentHashMap<K, SerialQueue> queues = new ConcurrentHashMap<>();
+    private final Executor executor;
+
+    public KeyedSerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public void execute(K key, Runnable task) {
+        if (key == null || task == null) {
+            throw new NullPointerException();
+        }
+        if (isShutdown()) {
+            throw new RejectedExecutionException("executor has been shut down");
+        }
+        boolean[] first = new boolean[1];
+        SerialQueue queue = queues.compute(key, (k, current) -> {
+            SerialQueue q = current != null ? current : new SerialQueue(k);
+            q.tasks.offer(task);
+            first[0] = q.pending.getAndIncrement() == 0;
+            return q;
+        });
+        if (first[0]) {
+            try {
+                executor.execute(queue);
+            } catch (RejectedExecutionException e) {
+                // Other submitters may already have queued behind this task, and they rely on us to
+                // schedule the key: drain it on this thread, as run() does when the pool refuses it
+                if (!isShutdown()) {
+                    queue.run();
+                    return;
+                }
+                queue.tasks.poll();   // our own task, first in line: it is rejected, not run
+                if (!queue.finishOne()) {
+                    queue.run();
+                }
+                throw e;
+            }
+        }
+    }
+
+    public <T> Future<T> submit(K key, Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        execute(key, future);
+        return future;
+    }
+
+    // Number of keys that currently have queued or running tasks.
+    public int activeKeys() {
+        return queues.size();
+    }
+
+    private boolean isShutdown() {
+        return executor instanceof ExecutorService && ((ExecutorService) executor).isShutdown();
+    }
+
+    private final class SerialQueue implements Runnable {
+        final K key;
+        final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        final AtomicInteger pending = new AtomicInteger();
+
+        SerialQueue(K key) {
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                for (int i = 0; i < BATCH; i++) {
+                    Runnable task = tasks.poll();   // never null: a task is added before pending is raised
+                    try {
+                        task.run();
+                    } catch (Throwable e) {
+                        Thread current = Thread.currentThread();
+                        current.getUncaughtExceptionHandler().uncaughtException(current, e);
+                    }
+                    if (finishOne()) {
+                        return;
+                    }
+                }
+                try {
+                    executor.execute(this);   // let other keys have the thread, continue later
+                    return;
+                } catch (RejectedExecutionException e) {
+                    // The pool is shutting down: finish this key's tasks on the current thread
+                }
+            }
+        }
+
+        // Returns true if that was the key's last task, after removing the idle queue from the map.
+        boolean finishOne() {
+            if (pending.decrementAndGet() != 0) {
+                return false;
+            }
+            queues.computeIfPresent(key, (k, current) -> current == this && pending.get() == 0 ? null : current);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package main.java._03_executorService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+
+/*
+===============================================
+ZERO-ALLOCATION SUBMISSION: PREALLOCATED TASK CARRIERS
+===============================================
+
+WHERE THE GARBAGE COMES FROM:
+- `service.execute(new Task(i))` allocates the Task (or a lambda capturing i), and
+  `ThreadPoolExecutor`'s `LinkedBlockingQueue` allocates a Node for it. `submit()` adds a FutureTask.
+- ~50-100 bytes per task. At millions of tasks per second that is hundreds of MB/s of short-lived
+  objects: the young generation fills up quickly and minor GCs become frequent.
+
+THE IDEA:
+- The queue is a RING of CARRIER objects, all allocated once in the constructor. Submitting a task
+  fills in the next free carrier; the worker reads it and the carrier is free again. Carriers are
+  recycled forever, so the queue itself never allocates.
+- Instead of a new Runnable per task, the caller passes ONE shared handler plus a `long` argument:
+  `executor.execute(PRINT_TASK, i)` instead of `executor.execute(new Task(i))`.
+  The handler is created once (a static field); the long is stored in the carrier. Zero allocation.
+- `execute(Runnable)` still works (the Runnable is the caller's object; no wrapper is added).
+  Only `submit()` creates a Future, because a result needs somewhere to live.
+
+THE RING (bounded multi-producer multi-consumer queue, Vyukov style):
+- Every slot has a SEQUENCE number. A producer claims position p with a CAS on `tail` only if slot
+  p's sequence says "free for p"; it fills in the carrier and sets the sequence to p + 1 ("full").
+- A consumer claims position p with a CAS on `head` only if the sequence is p + 1; it reads the
+  carrier, clears it and sets the sequence to p + capacity ("free for the next lap").
+- No locks, and no objects: just two counters, a long array and the carriers.
+
+IMPORTANT NOTES:
+- The ring is BOUNDED. When it is full, `execute()` spins and yields until a worker frees a slot
+  (backpressure). Do not submit from inside a task into a full ring.
+- Idle workers park and are woken with `LockSupport.unpark` (see `IdleWorkers`), which does not
+  allocate either.
+- `shutdown()` sets a CLOSED bit in `tail`, so it stops moving: a producer either claimed its slot
+  before (and the workers run the task before they exit) or its CAS fails and the task is rejected.
+*/
+
+public class PooledTaskExecutor extends AbstractExecutorService {
+    private static final int RUNNING = 0;
+    private static final int SHUTDOWN = 1;
+    private static final int STOP = 2;
+    private static final long CLOSED = 1L << 62;   // set in tail by shutdown: no more slots are claimed
+
+    // A task that needs no object of its own: all per-task state is the long argument.
+    @FunctionalInterface
+    public interface Handler {
+        void handle(long argument);
+    }
+
+    private final Carrier[] carriers;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final Worker[] workers;
+    private final IdleWorkers idle;
+    private final CountDownLatch terminated;
+    private volatile int runState = RUNNING;
+
+    public PooledTaskExecutor(int threads, int capacity) {
+        if (threads <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("threads and capacity must be positive");
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        carriers = new Carrier[size];
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            carriers[i] = new Carrier();
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+        workers = new Worker[threads];
+        idle = new IdleWorkers(threads);
+        terminated = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(i, "pooled-" + i);
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    public void execute(Handler handler, long argument) {
+        if (handler == null) {
+            throw new NullPointerException();
+        }
+        publish(handler, argument, null);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        publish(null, 0, task);
+    }
+
+    public int capacity() {
+        return carriers.length;
+    }
+
+    @Override
+    public void shutdown() {
+        closeTail();   // before the state: a worker that sees SHUTDOWN sees the final tail
+        if (runState == RUNNING) {
+            runState = SHUTDOWN;
+        }
+        idle.wakeAll();
+    }
+
+    // Handler tasks are returned wrapped in a Runnable (allocation is fine here).
+    @Override
+    public List<Runnable> shutdownNow() {
+        closeTail();
+        runState = STOP;
+        List<Runnable> pending = new ArrayList<>();
+        Carrier carrier = new Carrier();
+        while (!isEmpty()) {
+            if (!poll(carrier)) {
+                Thread.onSpinWait();   // a producer claimed the slot but has not filled it in yet
+            } else if (carrier.task != null) {
+                pending.add(carrier.task);
+            } else {
+                Handler handler = carrier.handler;
+                long argument = carrier.argument;
+                pending.add(() -> handler.handle(argument));
+            }
+        }
+        for (Worker worker : workers) {
+            worker.interrupt();
+        }
+        idle.wakeAll();
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return runState != RUNNING;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    private void publish(Handler handler, long argument, Runnable task) {
+        int spins = 0;
+        while (true) {
+            long position = tail.get();
+            if ((position & CLOSED) != 0) {
+                throw new RejectedExecutionException("executor has been shut down");
+            }
+            int slot = (int) (position & mask);
+            long free = sequences.get(slot) - position;
+            if (free == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    Carrier carrier = carriers[slot];
+                    carrier.handler = handler;
+                    carrier.argument = argument;
+                    carrier.task = task;
+                    sequences.set(slot, position + 1);   // volatile write publishes the carrier
+                    idle.signalOne();
+                    return;
+                }
+            } else if (free < 0) {
+                // Full: wait for a worker to free the slot
+                if (++spins < 100) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            // free > 0: another producer claimed this position first, retry with the new tail
+        }
+    }
+
+    // Copies the next task into `into` and frees its slot. Returns false if the ring is empty.
+    private boolean poll(Carrier into) {
+        while (true) {
+            long position = head.get();
+            int slot = (int) (position & mask);
+            long full = sequences.get(slot) - (position + 1);
+            if (full < 0) {
+                return false;
+            }
+            if (full == 0 && head.compareAndSet(position, position + 1)) {
+                Carrier carrier = carriers[slot];
+                into.handler = carrier.handler;
+                into.argument = carrier.argument;
+                into.task = carrier.task;
+                carrier.handler = null;
+                carrier.task = null;
+                sequences.set(slot, position + carriers.length);   // free for the next lap
+                return true;
+            }
+        }
+    }
+
+    private void closeTail() {
+        long position;
+        while (((position = tail.get()) & CLOSED) == 0 && !tail.compareAndSet(position, position | CLOSED)) {
+            // a producer claimed a slot first: retry with the new tail
+        }
+    }
+
+    // Includes slots that are claimed but not yet filled in.
+    private boolean isEmpty() {
+        return head.get() == (tail.get() & ~CLOSED);
+    }
+
+    private static final class Carrier {
+        Handler handler;
+        long argument;
+        Runnable task;
+    }
+
+    private final class Worker extends Thread {
+        final int index;
+        final Carrier current = new Carrier();   // the worker's own copy: the ring slot is freed at once
+        // A task arrived (or shutdown started) after the last poll: do not park
+        final BooleanSupplier wakeUp = () -> !isEmpty() || runState != RUNNING;
+
+        Worker(int index, String name) {
+            super(name);
+            this.index = index;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (runState != STOP) {
+                    if (poll(current)) {
+                        runCurrent();
+                    } else if (runState == SHUTDOWN && isEmpty()) {
+                        return;
+                    } else {
+                        idle.await(index, wakeUp);
+                    }
+                }
+            } finally {
+                terminated.countDown();
+            }
+        }
+
+        private void runCurrent() {
+            try {
+                if (current.task != null) {
+                    current.task.run();
+                } else {
+                    current.handler.handle(current.argument);
+                }
+            } catch (Throwable e) {
+                getUncaughtExceptionHandler().uncaughtException(this, e);   // keep the worker alive
+            } finally {
+                current.handler = null;
+                current.task = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package main.java._03_executorService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+===============================================
+HASHED TIMER WHEEL: O(1) SCHEDULE AND CANCEL
+===============================================
+
+THE PROBLEM:
+- `ScheduledThreadPoolExecutor` keeps its tasks in a binary heap (`DelayedWorkQueue`) behind ONE lock.
+- Every schedule and every cancel (with `setRemoveOnCancelPolicy(true)`) is O(log n) under that lock.
+  With hundreds of thousands of probes, every thread that schedules waits for the others.
+
+THE IDEA (a clock face):
+- Time is cut into TICKS (e.g. 10 ms). The wheel has N slots (buckets); tick t uses slot t mod N.
+- A task due at tick 1234 on a 512-slot wheel goes into slot 1234 mod 512 = 210, with
+  "rounds = 2": the hand passes slot 210 twice before the task is really due.
+- Every tick, ONE thread (the "ticker") looks at ONE slot: tasks with 0 rounds left run, the others
+  count down one round.
+- Schedule = add to a slot, cancel = unlink from a slot: both O(1), no matter how many tasks wait.
+
+HOW IT WORKS:
+- Only the ticker thread touches the wheel, so the wheel needs no lock at all.
+- `schedule()` only adds the task to a lock-free queue; the ticker moves new tasks into their slots
+  at the start of each tick.
+- `cancel()` marks the future cancelled and adds it to a second lock-free queue; the ticker unlinks
+  it from its slot (every task knows its slot and its neighbours: a doubly linked list).
+- Due tasks are handed to a small worker pool, so a slow task never stops the clock.
+- Periodic tasks put themselves back into the queue after each run.
+
+IMPORTANT NOTES:
+- PRECISION IS ONE TICK: a task never runs early, but may run up to one tick late.
+  Fine for timeouts and probes, not for audio or animation.
+- The ticker wakes up every tick even when the wheel is empty.
+- Like `ScheduledThreadPoolExecutor`: after `shutdown()`, delayed one-shot tasks still run, periodic
+  tasks are cancelled; an exception in a periodic task stops its repetition.
+
+TELEMETRY (is the schedule kept?):
+- `fireLatenessHistogram()`: for every run, actual start - intended start. Growing lateness means the
+  workers cannot keep up, or many tasks are due in the same tick.
+- `missedRuns()`: fixed-rate runs that were SKIPPED. Unlike `ScheduledThreadPoolExecutor`, a task that
+  falls more than a whole period behind does not run all missed executions back to back: they are
+  COALESCED into one run, and the next run is back on the original grid (0, P, 2P, ... never drifts).
+
+PHASE SPREADING (`setPhaseSpreading(true)`):
+- 10,000 probes with `scheduleAtFixedRate(probe, 0, 1, SECONDS)` all fire in the SAME tick, every second:
+  a CPU and network spike, then 999 ms of nothing.
+- With spreading, each new fixed-rate task of a period P gets an extra initial offset inside [0, P):
+  the 1st task 0, the 2nd P/2, then P/4, 3P/4, P/8, 5P/8, ... (bit-reversed counting).
+  However many tasks arrive, they are always close to evenly spread: the load stays flat.
+- The cost: a task's first run is delayed by up to one period.
+*/
+
+public final class TimerWheelScheduler extends AbstractExecutorService implements ScheduledExecutorService {
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;   // keeps one tick from running very long
+    private static final int RUNNING = 0;
+    private static final int SHUTDOWN = 1;
+    private static final int STOP = 2;
+
+    private final long tickNanos;
+    private final int mask;
+    private final Bucket[] wheel;
+    private final long startTime = System.nanoTime();
+    private final Queue<WheelTask<?>> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTask<?>> cancelled = new ConcurrentLinkedQueue<>();
+    private final ExecutorService workers;
+    private final Thread ticker;
+    private final CountDownLatch tickerDone = new CountDownLatch(1);
+    private final AtomicInteger state = new AtomicInteger(RUNNING);
+    private final List<Runnable> neverRun = new ArrayList<>();   // filled by the ticker on shutdownNow()
+
+    private long tick;   // ticker thread only
+    private int timers;   // ticker thread only
+    private boolean periodicCancelled;   // ticker thread only
+    private volatile int timerCount;
+
+    private final LatencyHistogram fireLateness = new LatencyHistogram();
+    private final LongAdder missedRuns = new LongAdder();
+    private final ConcurrentHashMap<Long, AtomicInteger> tasksPerPeriod = new ConcurrentHashMap<>();
+    private volatile boolean phaseSpreading;
+
+    public TimerWheelScheduler(int workerThreads) {
+        this(10, TimeUnit.MILLISECONDS, 512, workerThreads);
+    }
+
+    public TimerWheelScheduler(long tickDuration, TimeUnit unit, int wheelSize, int workerThreads) {
+        if (tickDuration <= 0 || wheelSize <= 0 || workerThreads <= 0) {
+            throw new IllegalArgumentException("Tick duration, wheel size and worker threads must be positive");
+        }
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;   // power of two: "t mod size" becomes "t & mask"
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.mask = size - 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.workers = Executors.newFixedThreadPool(workerThreads);
+        this.ticker = new Thread(this::runTicker, "timer-wheel");
+        ticker.start();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return enqueue(new WheelTask<Void>(command, null, deadlineAfter(delay, unit), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return enqueue(new WheelTask<>(callable, deadlineAfter(delay, unit)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        long periodNanos = unit.toNanos(period);
+        long deadline = deadlineAfter(initialDelay, unit) + (phaseSpreading ? nextPhase(periodNanos) : 0);
+        return enqueue(new WheelTask<Void>(command, null, deadline, periodNanos));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("Delay must be positive");
+        }
+        // Negative period = fixed delay, the same convention as ScheduledThreadPoolExecutor
+        return enqueue(new WheelTask<Void>(command, null, deadlineAfter(initialDelay, unit), -unit.toNanos(delay)));
+    }
+
+    // No delay: straight to the workers, the wheel is not involved.
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        if (state.get() != RUNNING) {
+            throw new RejectedExecutionException("Scheduler is shut down");
+        }
+        workers.execute(command);
+    }
+
+    // Tasks waiting in the wheel, as of the last tick.
+    public int timerCount() {
+        return timerCount;
+    }
+
+    // Spread fixed-rate tasks of the same period over that period. Applies to tasks scheduled afterwards.
+    public void setPhaseSpreading(boolean phaseSpreading) {
+        this.phaseSpreading = phaseSpreading;
+    }
+
+    public boolean getPhaseSpreading() {
+        return phaseSpreading;
+    }
+
+    // Actual start - intended start, in nanoseconds, for every run of every task.
+    public LatencyHistogram fireLatenessHistogram() {
+        return fireLateness;
+    }
+
+    // Fixed-rate runs skipped because the task was more than a period behind.
+    public long missedRuns() {
+        return missedRuns.sum();
+    }
+
+    @Override
+    public void shutdown() {
+        state.compareAndSet(RUNNING, SHUTDOWN);
+    }
+
+    // Returns the tasks that never started. Their futures are not completed (as in ScheduledThreadPoolExecutor).
+    @Override
+    public List<Runnable> shutdownNow() {
+        state.set(STOP);
+        ticker.interrupt();
+        boolean interrupted = false;
+        while (Thread.currentThread() != ticker && ticker.isAlive()) {
+            try {
+                ticker.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        List<Runnable> result = new ArrayList<>(neverRun);
+        result.addAll(workers.shutdownNow());
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return state.get() != RUNNING;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return tickerDone.getCount() == 0 && workers.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        if (!tickerDone.await(timeout, unit)) {
+            return false;
+        }
+        return workers.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    private long deadlineAfter(long delay, TimeUnit unit) {
+        return System.nanoTime() + unit.toNanos(Math.max(0, delay));
+    }
+
+    // n-th task of this period → offset period × (n with its bits reversed, as a fraction): 0, 1/2, 1/4, 3/4, ...
+    private long nextPhase(long periodNanos) {
+        int n = tasksPerPeriod.computeIfAbsent(periodNanos, p -> new AtomicInteger()).getAndIncrement();
+        double fraction = (Integer.reverse(n) >>> 1) / (double) (1L << 31);
+        return (long) (fraction * periodNanos);
+    }
+
+    private <V> WheelTask<V> enqueue(WheelTask<V> task) {
+        if (state.get() != RUNNING) {
+            throw new RejectedExecutionException("Scheduler is shut down");
+        }
+        pending.offer(task);
+        // Shut down between the check and the offer: the ticker may already have stopped
+        if (state.get() != RUNNING && pending.remove(task)) {
+            throw new RejectedExecutionException("Scheduler is shut down");
+        }
+        return task;
+    }
+
+    // ---------------- ticker thread ----------------
+
+    private void runTicker() {
+        try {
+            while (true) {
+                int current = state.get();
+                if (current == STOP) {
+                    drainAll();
+                    return;
+                }
+                waitForEndOfTick();
+                if (state.get() == STOP) {
+                    continue;
+                }
+                if (current == SHUTDOWN && !periodicCancelled) {
+                    // Once: periodic tasks that come back later are cancelled by transferPending()
+                    cancelPeriodicTasks();
+                    periodicCancelled = true;
+                }
+                transferPending();
+                removeCancelled();
+                expire(wheel[(int) (tick & mask)]);
+                tick++;
+                timerCount = timers;
+                if (current == SHUTDOWN && timers == 0 && pending.isEmpty()) {
+                    return;
+                }
+            }
+        } finally {
+            workers.shutdown();
+            tickerDone.countDown();
+        }
+    }
+
+    private void waitForEndOfTick() {
+        long end = startTime + (tick + 1) * tickNanos;
+        long remaining;
+        while ((remaining = end - System.nanoTime()) > 0 && state.get() != STOP) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            WheelTask<?> task = pending.poll();
+            if (task == null) {
+                return;
+            }
+            if (task.isCancelled()) {
+                continue;
+            }
+            if (task.isPeriodic() && state.get() != RUNNING) {
+                task.cancel(false);
+                continue;
+            }
+            long dueTick = (task.deadline - startTime) / tickNanos;
+            task.remainingRounds = (dueTick - tick) / wheel.length;
+            wheel[(int) (Math.max(dueTick, tick) & mask)].add(task);   // overdue: the current slot
+            timers++;
+        }
+    }
+
+    private void removeCancelled() {
+        WheelTask<?> task;
+        while ((task = cancelled.poll()) != null) {
+            if (task.bucket != null) {
+                task.bucket.remove(task);
+                timers--;
+            }
+        }
+    }
+
+    private void expire(Bucket bucket) {
+        WheelTask<?> task = bucket.head;
+        while (task != null) {
+            WheelTask<?> next = task.next;
+            if (task.remainingRounds <= 0 || task.isCancelled()) {
+                bucket.remove(task);
+                timers--;
+                if (!task.isCancelled()) {
+                    try {
+                        workers.execute(task);
+                    } catch (RejectedExecutionException e) {
+                        task.cancel(false);
+                    }
+                }
+            } else {
+                task.remainingRounds--;
+            }
+            task = next;
+        }
+    }
+
+    private void cancelPeriodicTasks() {
+        for (Bucket bucket : wheel) {
+            WheelTask<?> task = bucket.head;
+            while (task != null) {
+                WheelTask<?> next = task.next;
+                if (task.isPeriodic()) {
+                    bucket.remove(task);
+                    timers--;
+                    task.cancel(false);
+                }
+                task = next;
+            }
+        }
+    }
+
+    private void drainAll() {
+        for (Bucket bucket : wheel) {
+            while (bucket.head != null) {
+                WheelTask<?> task = bucket.head;
+                bucket.remove(task);
+                if (!task.isCancelled()) {
+                    neverRun.add(task);
+                }
+            }
+        }
+        WheelTask<?> task;
+        while ((task = pending.poll()) != null) {
+            if (!task.isCancelled()) {
+                neverRun.add(task);
+            }
+        }
+        timers = 0;
+        timerCount = 0;
+    }
+
+    // One slot of the wheel: a doubly linked list, so any task can be unlinked in O(1).
+    private static final class Bucket {
+        WheelTask<?> head;
+        WheelTask<?> tail;
+
+        void add(WheelTask<?> task) {
+            task.bucket = this;
+            task.prev = tail;
+            task.next = null;
+            if (tail == null) {
+                head = task;
+            } else {
+                tail.next = task;
+            }
+            tail = task;
+        }
+
+        void remove(WheelTask<?> task) {
+            if (task.prev == null) {
+                head = task.next;
+            } else {
+                task.prev.next = task.next;
+            }
+            if (task.next == null) {
+                tail = task.prev;
+            } else {
+                task.next.prev = task.prev;
+            }
+            task.bucket = null;
+            task.prev = null;
+            task.next = null;
+        }
+    }
+
+    private final class WheelTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+        private final long period;   // 0 = once, > 0 = fixed rate, < 0 = fixed delay
+        volatile long deadline;
+
+        // Wheel position: ticker thread only
+        long remainingRounds;
+        Bucket bucket;
+        WheelTask<?> prev;
+        WheelTask<?> next;
+
+        WheelTask(Runnable command, V result, long deadline, long period) {
+            super(command, result);
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        WheelTask(Callable<V> callable, long deadline) {
+            super(callable);
+            this.deadline = deadline;
+            this.period = 0;
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return period != 0;
+        }
+
+        @Override
+        public void run() {
+            fireLateness.record(System.nanoTime() - deadline);
+            if (!isPeriodic()) {
+                super.run();
+                return;
+            }
+            if (!runAndReset()) {
+                return;   // cancelled, or the task threw: no more runs
+            }
+            if (state.get() != RUNNING) {
+                cancel(false);
+                return;
+            }
+            deadline = period > 0 ? nextFixedRateDeadline() : System.nanoTime() - period;
+            pending.offer(this);
+            if (state.get() != RUNNING && pending.remove(this)) {
+                cancel(false);
+            }
+        }
+
+        // Next slot on the grid deadline + k × period. Slots already a whole period in the past are skipped.
+        private long nextFixedRateDeadline() {
+            long next = deadline + period;
+            long behind = System.nanoTime() - next;
+            if (behind >= period) {
+                long skipped = behind / period;
+                missedRuns.add(skipped);
+                next += skipped * period;
+            }
+            return next;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean result = super.cancel(mayInterruptIfRunning);
+            if (result) {
+                cancelled.offer(this);
+            }
+            return result;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package main.java._03_executorService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BooleanSupplier;
+
+/*
+===============================================
+WORK-STEALING EXECUTOR
+===============================================
+
+THE PROBLEM WITH ONE SHARED QUEUE:
+- `newFixedThreadPool` and `newCachedThreadPool` put every task into ONE queue
+  (`LinkedBlockingQueue` / `SynchronousQueue`). Every submit and every take goes through that queue's lock.
+- With tiny tasks and many threads, threads spend more time fighting over the queue than running tasks.
+
+THE IDEA: ONE QUEUE PER WORKER
+- Every worker thread owns a DEQUE (double-ended queue) of tasks.
+- A task submitted FROM INSIDE a running task goes onto the current worker's own deque. No other
+  thread is involved, so no lock and usually not even a CAS.
+- The owner takes from the BOTTOM of its deque (LIFO): the newest task, whose data is still in the
+  CPU cache.
+- An idle worker STEALS from the TOP of another worker's deque (FIFO): the oldest task, which in
+  divide-and-conquer code is usually the biggest piece of work. Owner and thief work at opposite
+  ends, so they only meet when one task is left.
+- Tasks submitted from OUTSIDE the pool go into one of several submission queues (one per worker,
+  picked by a random probe), so external submitters are spread out too.
+
+THE DEQUE (Chase-Lev):
+- An array plus two counters: `bottom` (changed only by the owner) and `top` (advanced by CAS).
+- A task belongs to whoever clears its slot (a CAS from the task to null, as in `ForkJoinPool`); a
+  thief moves `top` only after that. push/pop by the owner need no CAS on `top`: only the LAST task
+  can be reached by the owner and a thief at the same time, and the slot decides who gets it.
+- The array doubles when full; thieves reading the old array still see valid tasks.
+
+IDLE WORKERS:
+- A worker that finds no task anywhere marks itself parked, checks every queue ONE more time,
+  and then parks. A submitter that sees parked workers unparks exactly one (see `IdleWorkers`).
+
+IMPORTANT NOTES:
+- This is the same design as `ForkJoinPool`, reduced to what the demos need.
+- Tasks should not block for long: a blocked task keeps its worker and the tasks queued behind it waiting
+  until other workers steal them.
+*/
+
+public class WorkStealingExecutor extends AbstractExecutorService {
+    private static final int RUNNING = 0;
+    private static final int SHUTDOWN = 1;
+    private static final int STOP = 2;
+
+    private final Worker[] workers;
+    private final Queue<Runnable>[] submissions;
+    private final IdleWorkers idle;
+    private final CountDownLatch terminated;
+    private volatile int runState = RUNNING;
+
+    public WorkStealingExecutor(int parallelism) {
+        this(parallelism, "work-stealing");
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public WorkStealingExecutor(int parallelism, String namePrefix) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        workers = new Worker[parallelism];
+        submissions = new Queue[parallelism];
+        idle = new IdleWorkers(parallelism);
+        terminated = new CountDownLatch(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            submissions[i] = new ConcurrentLinkedQueue<>();
+            workers[i] = new Worker(i, namePrefix + "-" + i);
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        Thread current = Thread.currentThread();
+        if (current instanceof Worker && ((Worker) current).pool() == this) {
+            // Local submission: only this thread touches the bottom. Allowed after shutdown(), so an
+            // accepted task can still fork its children; this worker runs them before it exits.
+            if (runState == STOP) {
+                throw new RejectedExecutionException("executor has been shut down");
+            }
+            ((Worker) current).deque.push(task);
+        } else {
+            if (runState != RUNNING) {
+                throw new RejectedExecutionException("executor has been shut down");
+            }
+            Queue<Runnable> queue = submissions[ThreadLocalRandom.current().nextInt(submissions.length)];
+            queue.offer(task);
+            // Shut down between the check and the offer: the workers may already have exited
+            if (runState != RUNNING && queue.remove(task)) {
+                throw new RejectedExecutionException("executor has been shut down");
+            }
+        }
+        idle.signalOne();
+    }
+
+    public int parallelism() {
+        return workers.length;
+    }
+
+    // Number of tasks that were taken from another worker's deque.
+    public long stealCount() {
+        long steals = 0;
+        for (Worker worker : workers) {
+            steals += worker.steals.get();
+        }
+        return steals;
+    }
+
+    @Override
+    public void shutdown() {
+        if (runState == RUNNING) {
+            runState = SHUTDOWN;
+        }
+        idle.wakeAll();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        runState = STOP;
+        List<Runnable> pending = new ArrayList<>();
+        for (int i = 0; i < workers.length; i++) {
+            Runnable task;
+            while ((task = workers[i].deque.steal()) != null || !workers[i].deque.isEmpty()) {
+                if (task != null) {
+                    pending.add(task);
+                }
+            }
+            while ((task = submissions[i].poll()) != null) {
+                pending.add(task);
+            }
+        }
+        for (Worker worker : workers) {
+            worker.interrupt();
+        }
+        idle.wakeAll();
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return runState != RUNNING;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    // Own deque first, then own submission queue, then everyone else's, starting at a random victim.
+    private Runnable findTask(Worker self) {
+        Runnable task = self.deque.pop();
+        if (task != null) {
+            return task;
+        }
+        task = submissions[self.index].poll();
+        if (task != null) {
+            return task;
+        }
+        int n = workers.length;
+        int start = ThreadLocalRandom.current().nextInt(n);
+        for (int i = 0; i < n; i++) {
+            int victim = (start + i) % n;
+            if (victim == self.index) {
+                continue;
+            }
+            task = workers[victim].deque.steal();
+            if (task == null) {
+                task = submissions[victim].poll();
+            }
+            if (task != null) {
+                self.steals.incrementAndGet();
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasQueuedTasks() {
+        for (int i = 0; i < workers.length; i++) {
+            if (!workers[i].deque.isEmpty() || !submissions[i].isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class Worker extends Thread {
+        final int index;
+        final TaskDeque deque = new TaskDeque();
+        final AtomicLong steals = new AtomicLong();
+        // A task arrived (or shutdown started) after the last scan: do not park
+        final BooleanSupplier wakeUp = () -> hasQueuedTasks() || runState != RUNNING;
+
+        Worker(int index, String name) {
+            super(name);
+            this.index = index;
+        }
+
+        WorkStealingExecutor pool() {
+            return WorkStealingExecutor.this;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (runState != STOP) {
+                    Runnable task = findTask(this);
+                    if (task != null) {
+                        runTask(task);
+                    } else if (runState == SHUTDOWN && !hasQueuedTasks()) {
+                        return;
+                    } else {
+                        idle.await(index, wakeUp);
+                    }
+                }
+            } finally {
+                terminated.countDown();
+            }
+        }
+
+        private void runTask(Runnable task) {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                getUncaughtExceptionHandler().uncaughtException(this, e);   // keep the worker alive
+            }
+        }
+    }
+
+    // Chase-Lev deque: the owner pushes and pops at the bottom, thieves steal from the top.
+    static final class TaskDeque {
+        private static final int INITIAL_CAPACITY = 256;
+
+        private final AtomicLong top = new AtomicLong();
+        private volatile long bottom;
+        private volatile AtomicReferenceArray<Runnable> array = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+
+        // Owner only.
+        void push(Runnable task) {
+            long b = bottom;
+            long t = top.get();
+            AtomicReferenceArray<Runnable> a = array;
+            if (b - t >= a.length() - 1) {
+                a = grow(a, t, b);
+            }
+            a.set((int) (b & (a.length() - 1)), task);
+            bottom = b + 1;   // volatile write publishes the task to thieves
+        }
+
+        // Owner only. Newest task first (LIFO).
+        Runnable pop() {
+            long b = bottom - 1;
+            AtomicReferenceArray<Runnable> a = array;
+            bottom = b;       // volatile write, then volatile read of top: a thief cannot miss this
+            long t = top.get();
+            if (t > b) {
+                bottom = b + 1;   // was empty
+                return null;
+            }
+            // Whoever clears the slot owns the task. Below the last task no thief can reach this slot.
+            Runnable task = a.getAndSet((int) (b & (a.length() - 1)), null);
+            if (task == null) {
+                bottom = b + 1;   // last task, and a thief cleared it first: it moves top past it
+            }
+            return task;
+        }
+
+        // Any thread. Oldest task first (FIFO). Returns null when empty or when another thread won the race.
+        Runnable steal() {
+            long t = top.get();
+            long b = bottom;
+            if (t >= b) {
+                return null;
+            }
+            AtomicReferenceArray<Runnable> a = array;
+            int slot = (int) (t & (a.length() - 1));
+            Runnable task = a.get(slot);
+            // Clearing the slot is what takes the task; only then does top move past it. Advancing top
+            // first would let the owner wrap around and refill the slot before it is cleared.
+            if (task == null || top.get() != t || !a.compareAndSet(slot, task, null)) {
+                return null;
+            }
+            top.set(t + 1);
+            return task;
+        }
+
+        boolean isEmpty() {
+            return top.get() >= bottom;
+        }
+
+        private AtomicReferenceArray<Runnable> grow(AtomicReferenceArray<Runnable> old, long t, long b) {
+            AtomicReferenceArray<Runnable> grown = new AtomicReferenceArray<>(old.length() * 2);
+            for (long i = t; i < b; i++) {
+                // getAndSet: a task is either moved here or cleared by a thief in the old array, never both
+                grown.set((int) (i & (grown.length() - 1)), old.getAndSet((int) (i & (old.length() - 1)), null));
+            }
+            array = grown;
+            return grown;
+        }
+    }
+}
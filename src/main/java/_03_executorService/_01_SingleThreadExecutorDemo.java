@@ -50,13 +50,30 @@ IMPORTANT NOTES:
 - If a task takes too long to execute, subsequent tasks will be delayed.
 - Use `newSingleThreadExecutor()` only when you need sequential execution. For parallel execution, consider other executor types like `newFixedThreadPool()`.
 
+VIRTUAL THREADS (run with `virtual` as the first argument):
+- `Executors.newVirtualThreadPerTaskExecutor()` starts one virtual thread per task. A virtual thread
+  that sleeps or waits for I/O gives its carrier (platform) thread back, so the 10 sleeping tasks
+  finish in ~1 second instead of ~10.
+- The ORDER guarantee is gone: the tasks run at the same time. Use it for independent I/O-bound tasks,
+  not as a drop-in replacement when order matters.
+
+KEYED MODE (run with `keyed` as the first argument):
+- Often the order only matters PER ENTITY (per account, per user), not across all tasks.
+- `KeyedSerialExecutor` gives every key its own FIFO queue on top of a pool of 3 threads.
+  Here task `i` belongs to entity `i % 3`: tasks 0, 3, 6, 9 still run in order, but the
+  three entities run in parallel.
+
 */
 
 public class _01_SingleThreadExecutorDemo {
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("keyed")) {
+            runKeyed();
+            return;
+        }
         // Create a single-threaded executor
         // This ensures that tasks are executed sequentially (one at a time) in the order they are submitted
-        try (ExecutorService service = Executors.newSingleThreadExecutor()) {
+        try (ExecutorService service = newExecutor(args.length > 0 ? args[0] : "single")) {
             
             // Submit 10 tasks to the executor
             for (int i = 0; i < 10; i++) {
@@ -68,6 +85,26 @@ public class _01_SingleThreadExecutorDemo {
             e.printStackTrace();
         }
     }
+
+    private static void runKeyed() {
+        try (ExecutorService pool = Executors.newFixedThreadPool(3)) {
+            KeyedSerialExecutor<String> service = new KeyedSerialExecutor<>(pool);
+            for (int i = 0; i < 10; i++) {
+                service.execute("entity-" + (i % 3), new Task(i));  // in order per entity
+            }
+        }
+    }
+
+    private static ExecutorService newExecutor(String mode) {
+        switch (mode) {
+            case "single":
+                return Executors.newSingleThreadExecutor();
+            case "virtual":
+                return Executors.newVirtualThreadPerTaskExecutor();
+            default:
+                throw new IllegalArgumentException("Unknown executor mode: " + mode);
+        }
+    }
 }
 
 class Task implements Runnable {
@@ -1,7 +1,10 @@
 package main.java._03_executorService;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /*
 ===============================================
@@ -52,6 +55,25 @@ IMPORTANT NOTES:
 - If a thread dies unexpectedly, the executor replaces it with a new thread.
 - Be cautious with long-running tasks, as they can block threads and delay other tasks.
 - Use `newFixedThreadPool()` when you know the maximum number of threads needed. For dynamic workloads, consider `newCachedThreadPool()`.
+- All 3 threads take tasks from ONE shared queue. With very many tiny tasks, that queue becomes the
+  bottleneck. Run with `work-stealing` as the first argument to use `WorkStealingExecutor` instead:
+  one deque per thread, and idle threads steal from busy ones.
+- `Task` only sleeps, so the 3 threads mostly wait. Run with `virtual` to start one virtual thread
+  per task instead (`newVirtualThreadPerTaskExecutor()`): all 10 tasks sleep at the same time.
+- Is 3 threads the right size? Run with `instrumented`: `InstrumentedExecutorService` measures how long
+  each task WAITED in the queue and how long it RAN, and prints the percentiles at the end.
+  (7 of the 10 tasks wait: the queue wait tells you the pool is too small for this burst.)
+- Every `new Task(i)` is an object, and the pool's queue adds a node for it: garbage per task. Run with
+  `pooled`: `PooledTaskExecutor` keeps a preallocated ring of task carriers, and the loop passes one
+  shared handler plus the task id instead of a new Task, so submitting allocates nothing (the handler
+  still builds a Task when it runs, to reuse its code).
+- The queue is FIFO: a task submitted last waits for all 7 queued ones. Run with `deadline`:
+  `DeadlineExecutor` runs the task with the earliest deadline first. An urgent HIGH-priority task
+  submitted after the 10 Tasks runs next, and a refresh that must start within 500 ms is shed
+  (skipped) because no thread is free before the first Tasks end at 1 second.
+- The loop takes the queue lock 10 times. Run with `batching`: the 10 Tasks go to a
+  `BatchingExecutor` in one `executeAll()` call, which adds them under one lock acquisition and wakes
+  the 3 idle threads in one pass.
 
 REAL-WORLD ANALOGY:
 - Think of a fixed thread pool as a team of workers (threads) at a factory:
@@ -62,10 +84,26 @@ REAL-WORLD ANALOGY:
 */
 
 public class _02_FixedThreadPoolDemo {
+    // Created once; the task id comes in as the long argument, and the Task is made by the worker
+    private static final PooledTaskExecutor.Handler PRINT_TASK = taskId -> new Task((int) taskId).run();
+
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("pooled")) {
+            runPooled();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("deadline")) {
+            runDeadline();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("batching")) {
+            runBatching();
+            return;
+        }
         // Create a fixed thread pool with 3 threads
         // This allows up to 3 tasks to be executed concurrently
-        try (ExecutorService service = Executors.newFixedThreadPool(3)) {
+        ExecutorService service = newExecutor(args.length > 0 ? args[0] : "fixed");
+        try (service) {
             
             // Submit 10 tasks to the executor
             for (int i = 0; i < 10; i++) {
@@ -76,6 +114,59 @@ public class _02_FixedThreadPoolDemo {
             // Handle any exceptions that occur
             e.printStackTrace();
         }
+
+        if (service instanceof InstrumentedExecutorService) {
+            System.out.println(((InstrumentedExecutorService) service).snapshot());
+        }
+    }
+
+    private static void runPooled() {
+        try (PooledTaskExecutor service = new PooledTaskExecutor(3, 16)) {
+            for (int i = 0; i < 10; i++) {
+                service.execute(PRINT_TASK, i);  // no Task object per submit
+            }
+        }
+    }
+
+    private static void runDeadline() {
+        DeadlineExecutor service = new DeadlineExecutor(3);
+        try (service) {
+            for (int i = 0; i < 10; i++) {
+                service.execute(new Task(i));  // Priority.NORMAL
+            }
+            // Submitted last, but runs as soon as a thread is free
+            service.execute(() -> System.out.println("Urgent task is being executed by thread: "
+                    + Thread.currentThread().getName()), DeadlineExecutor.Priority.HIGH);
+            // Useless after 500 ms, and all 3 threads are busy for 1 second: shed
+            service.execute(() -> System.out.println("Refresh task is being executed"), 500, TimeUnit.MILLISECONDS);
+        }
+        System.out.println("Deadlines met=" + service.deadlinesMet() + ", missed=" + service.deadlinesMissed()
+                + ", shed=" + service.tasksShed());
+    }
+
+    private static void runBatching() {
+        try (BatchingExecutor service = new BatchingExecutor(3)) {
+            List<Runnable> batch = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                batch.add(new Task(i));
+            }
+            service.executeAll(batch);  // one lock acquisition, the 3 idle threads woken in one pass
+        }
+    }
+
+    private static ExecutorService newExecutor(String mode) {
+        switch (mode) {
+            case "fixed":
+                return Executors.newFixedThreadPool(3);
+            case "work-stealing":
+                return new WorkStealingExecutor(3);
+            case "virtual":
+                return Executors.newVirtualThreadPerTaskExecutor();
+            case "instrumented":
+                return new InstrumentedExecutorService("fixed-thread-pool-demo", Executors.newFixedThreadPool(3));
+            default:
+                throw new IllegalArgumentException("Unknown executor mode: " + mode);
+        }
     }
 }
 
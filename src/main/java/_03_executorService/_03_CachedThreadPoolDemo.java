@@ -52,6 +52,13 @@ IMPORTANT NOTES:
 - Be cautious with long-running tasks, as they can lead to unbounded thread creation and resource exhaustion.
 - Use `newCachedThreadPool()` for workloads where tasks are short-lived and frequent.
 - For workloads with a predictable number of tasks, consider `newFixedThreadPool()` instead.
+- For tasks that mostly WAIT (sleep, I/O), run with `virtual` as the first argument:
+  `newVirtualThreadPerTaskExecutor()` also starts a thread per task, but a virtual thread costs a few
+  hundred bytes instead of a ~1 MB stack and an OS thread, so a burst of 100,000 waiting tasks is fine.
+- For a pool that grows but has a LIMIT, run with `adaptive`: `AdaptiveThreadPool(1, 4, 4)` grows
+  from 1 to at most 4 threads, queues at most 4 tasks, and makes the submitting thread WAIT for the
+  last 2 tasks (backpressure) instead of starting threads 5 to 10. Its threads leave within about a
+  second once the work is done, not after 60 seconds.
 
 REAL-WORLD ANALOGY:
 - Think of a cached thread pool as a flexible team of freelancers:
@@ -65,7 +72,7 @@ public class _03_CachedThreadPoolDemo {
     public static void main(String[] args) {
         // Create a cached thread pool executor
         // This executor can create new threads as needed, and reuse previously constructed threads when available
-        try (ExecutorService service = Executors.newCachedThreadPool()) {
+        try (ExecutorService service = newExecutor(args.length > 0 ? args[0] : "cached")) {
             
             // Submit 10 tasks to the executor
             for (int i = 0; i < 10; i++) {
@@ -77,6 +84,19 @@ public class _03_CachedThreadPoolDemo {
             e.printStackTrace();
         }
     }
+
+    private static ExecutorService newExecutor(String mode) {
+        switch (mode) {
+            case "cached":
+                return Executors.newCachedThreadPool();
+            case "virtual":
+                return Executors.newVirtualThreadPerTaskExecutor();
+            case "adaptive":
+                return new AdaptiveThreadPool(1, 4, 4);
+            default:
+                throw new IllegalArgumentException("Unknown executor mode: " + mode);
+        }
+    }
 }
 
 class Task implements Runnable {
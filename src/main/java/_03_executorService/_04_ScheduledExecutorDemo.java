@@ -121,6 +121,30 @@ import java.util.concurrent.TimeUnit;
  *   InterruptedException).
  *
  *
+ * 7) Virtual Threads
+ * ---------------------------------------------------------------
+ * Run with `virtual` as the first argument: the pool's thread is
+ * created by `Thread.ofVirtual().factory()`. The timing still comes
+ * from the executor's delay queue; only the thread that runs the
+ * task is virtual, which pays off when the task waits on I/O.
+ *
+ *
+ * 8) Timer Wheel
+ * ---------------------------------------------------------------
+ * Run with `wheel` as the first argument: `TimerWheelScheduler`
+ * implements the same ScheduledExecutorService interface, but keeps
+ * its tasks in a hashed timer wheel instead of a heap. Schedule and
+ * cancel are O(1) and take no lock, which matters with hundreds of
+ * thousands of probes. The price: tasks run up to one tick (10 ms)
+ * late.
+ *
+ * The wheel also measures how well it keeps the schedule: at the
+ * end the demo prints how late each probe started (intended vs
+ * actual) and how many runs were skipped. With phase spreading on,
+ * many probes with the same period are spread over the period
+ * instead of all firing in the same tick.
+ *
+ *
  * Mental Model:
  * ---------------------------------------------------------------
  * newScheduledThreadPool is like a smart scheduler with multiple
@@ -138,7 +162,7 @@ import java.util.concurrent.TimeUnit;
 
 public class _04_ScheduledExecutorDemo {
     public static void main(String[] args) {
-        ScheduledExecutorService executorService = Executors.newScheduledThreadPool(1);
+        ScheduledExecutorService executorService = newScheduler(args.length > 0 ? args[0] : "pool");
         executorService.scheduleAtFixedRate(new ProbeTask(), 1000, 2000, TimeUnit.MILLISECONDS);
 
         try {
@@ -148,6 +172,26 @@ public class _04_ScheduledExecutorDemo {
         } catch (InterruptedException e) {
             executorService.shutdownNow();
         }
+
+        if (executorService instanceof TimerWheelScheduler) {
+            TimerWheelScheduler wheel = (TimerWheelScheduler) executorService;
+            System.out.println("Fire lateness: " + wheel.fireLatenessHistogram() + ", missed runs: " + wheel.missedRuns());
+        }
+    }
+
+    private static ScheduledExecutorService newScheduler(String mode) {
+        switch (mode) {
+            case "pool":
+                return Executors.newScheduledThreadPool(1);
+            case "virtual":
+                return Executors.newScheduledThreadPool(1, Thread.ofVirtual().factory());
+            case "wheel":
+                TimerWheelScheduler wheel = new TimerWheelScheduler(1);
+                wheel.setPhaseSpreading(true);
+                return wheel;
+            default:
+                throw new IllegalArgumentException("Unknown scheduler mode: " + mode);
+        }
     }
 }
 
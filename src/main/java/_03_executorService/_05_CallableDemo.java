@@ -1,5 +1,8 @@
 package main.java._03_executorService;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import java.util.concurrent.*;
 
 /*
@@ -112,6 +115,37 @@ import java.util.concurrent.*;
  * Blocking happens ONLY when get() is called.
  *
  *
+ * 7) Virtual Threads
+ * ---------------------------------------------------------------
+ * Run with `virtual` as the first argument to submit the Callable to
+ * `newVirtualThreadPerTaskExecutor()`. Future works the same way;
+ * the 5-second sleep just no longer occupies a platform thread.
+ *
+ *
+ * 8) Without Blocking: async mode
+ * ---------------------------------------------------------------
+ * Run with `async` as the first argument. Instead of get(), the demo
+ * says what should happen WITH the result (`AsyncPipeline`):
+ *
+ *   - call(ReturnValueTask)  → 12 after 5 seconds
+ *   - thenCompose            → a second Callable turns 12 into 42
+ *   - withTimeout(6 seconds) → a timer entry, not a waiting thread
+ *
+ * main() returns at once; the last step prints the result and shuts
+ * the pools down. No thread is parked in get() at any point, and
+ * cancelling the pipeline would interrupt whichever step is running.
+ *
+ *
+ * 9) Hedging: hedged mode
+ * ---------------------------------------------------------------
+ * Run with `hedged` as the first argument. A "lookup" usually takes
+ * 100 ms, but one attempt in three is a straggler (ReturnValueTask,
+ * 5 seconds). `HedgedExecutor` learns the usual latency, and when an
+ * attempt is slower than 90% of recent ones it starts a second one:
+ * the first result wins, the straggler is cancelled. No call waits
+ * the full 5 seconds, unless both of its attempts are stragglers.
+ *
+ *
  * Mental Model:
  * ---------------------------------------------------------------
  * Callable -> "Do work and give me a result."
@@ -123,7 +157,17 @@ import java.util.concurrent.*;
 
 public class _05_CallableDemo {
     public static void main(String[] args) throws ExecutionException, InterruptedException, TimeoutException {
-        try(ExecutorService executorService = Executors.newFixedThreadPool(2)) {
+        if (args.length > 0 && args[0].equals("async")) {
+            runAsync();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("hedged")) {
+            runHedged();
+            return;
+        }
+        try(ExecutorService executorService = args.length > 0 && args[0].equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(2)) {
             Future<Integer> result = executorService.submit(new ReturnValueTask());
 
             /*result.cancel(true);
@@ -136,6 +180,51 @@ public class _05_CallableDemo {
             System.out.println("Main thread execution completed!");
         }
     }
+
+    private static void runAsync() {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        TimerWheelScheduler timer = new TimerWheelScheduler(1);
+
+        CompletableFuture<Integer> first = AsyncPipeline.call(new ReturnValueTask(), executorService);
+        CompletableFuture<Integer> second = AsyncPipeline.thenCompose(first,
+                value -> AsyncPipeline.call(() -> value + 30, executorService));
+        CompletableFuture<Integer> result = AsyncPipeline.withTimeout(second, 6, TimeUnit.SECONDS, timer);
+
+        result.whenComplete((value, failure) -> {
+            System.out.println(failure == null ? "Result: " + value : "Failed: " + failure);
+            executorService.shutdown();
+            timer.shutdown();
+        });
+        System.out.println("Main thread execution completed! (the pipeline keeps running)");
+    }
+
+    private static void runHedged() {
+        ExecutorService executorService = Executors.newCachedThreadPool();
+        TimerWheelScheduler timer = new TimerWheelScheduler(1);
+        HedgedExecutor hedged = new HedgedExecutor(executorService, timer, 0.90);
+        Callable<Integer> quick = () -> {
+            Thread.sleep(100);
+            return 12;
+        };
+
+        // Learn the usual latency: 20 normal lookups
+        List<CompletableFuture<Integer>> warmUp = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            warmUp.add(hedged.submit("lookup", quick));
+        }
+        AsyncPipeline.allOf(warmUp).join();
+        System.out.println("Hedge delay for lookup: " + hedged.hedgeDelayMillis("lookup") + " ms");
+
+        Random random = new Random(7);
+        for (int i = 0; i < 6; i++) {
+            long start = System.nanoTime();
+            int value = hedged.submit("lookup", () -> random.nextInt(3) == 0 ? new ReturnValueTask().call() : quick.call()).join();
+            System.out.println("Lookup " + i + " returned " + value + " after " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+        System.out.println("Hedges started: " + hedged.hedges() + ", won by the hedge: " + hedged.hedgeWins());
+        executorService.shutdownNow();
+        timer.shutdown();
+    }
 }
 
 class ReturnValueTask implements Callable<Integer> {
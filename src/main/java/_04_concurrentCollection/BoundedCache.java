@@ -0,0 +1,472 @@
+package main.java._04_concurrentCollection;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/*
+===============================================
+SIZE-BOUNDED CACHE WITH W-TinyLFU EVICTION
+===============================================
+
+THE PROBLEM:
+- The `cache` map in `_04_ConcurrentHashMapDemo` never removes anything. Every new key stays forever,
+  so the heap keeps growing and garbage collection gets slower and slower.
+- A bounded cache keeps at most `maximumSize` entries. When it is full, something has to go.
+  The question is WHAT to evict.
+
+LRU AND WHY IT IS NOT ENOUGH:
+- LRU (Least Recently Used) evicts the entry that was read longest ago.
+- One big scan of rarely used keys pushes every popular key out of an LRU cache.
+- Popularity (how OFTEN a key is used) is a better predictor than recency alone.
+
+W-TinyLFU IN FOUR IDEAS:
+1. **Frequency sketch** (`FrequencySketch` below): a tiny table of 4-bit counters that estimates how often
+   each key was used recently (a "count-min sketch"). It costs a few bytes per entry, not a map of counters.
+   All counters are halved periodically, so old popularity fades away.
+2. **Admission window**: new entries first go into a small LRU "window" (1% of the cache).
+   This gives brand-new keys a chance to build up a frequency before they are judged.
+3. **Admission filter**: when an entry leaves the window, it competes with the main area's eviction victim.
+   The one with the HIGHER estimated frequency stays; the other is evicted.
+4. **Segmented LRU main area**: entries start in "probation" (20%). A second hit promotes them to
+   "protected" (80%). One-hit wonders never get into the protected segment.
+
+READS WITHOUT A LOCK:
+- Updating the LRU lists on every read would need a lock on every read: a single point of contention.
+- Instead, a read only records "this entry was used" into a small buffer, one buffer per stripe of threads.
+- The buffers are LOSSY: if a buffer is full, the record is simply dropped. The policy only needs a
+  good sample of reads, not every single one.
+- Whoever gets the lock with `tryLock()` (never waiting) replays the buffers into the lists in one batch.
+
+IMPORTANT NOTES:
+- Lookups go straight to a `ConcurrentHashMap`, so reads stay as fast as in the unbounded cache.
+- Size is enforced after each insert, so the cache can briefly hold a few entries more than the maximum.
+- Combine with `LoadingCache` (single-flight) if concurrent misses on one key must load only once.
+*/
+
+public class BoundedCache<K, V> {
+    private static final int READ_BUFFER_SIZE = 16;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+    private static final int DRAIN_THRESHOLD = 4;
+
+    private static final ThreadLocal<int[]> probe = ThreadLocal.withInitial(
+            () -> new int[]{System.identityHashCode(Thread.currentThread()) * 0x9E3779B9});
+
+    private final ConcurrentHashMap<K, Node<K, V>> map = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final ReadBuffer<K, V>[] readBuffers;
+    private final FrequencySketch sketch;
+
+    // The three LRU segments. Guarded by evictionLock.
+    private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> protectedSegment = new AccessOrderDeque<>();
+
+    private final long maximumSize;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public BoundedCache(long maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (maximumSize - windowMaximum) * 80 / 100;
+        this.sketch = new FrequencySketch(maximumSize);
+
+        int stripes = 1;
+        while (stripes < Runtime.getRuntime().availableProcessors()) {
+            stripes <<= 1;
+        }
+        this.readBuffers = new ReadBuffer[stripes];
+        for (int i = 0; i < stripes; i++) {
+            readBuffers[i] = new ReadBuffer<>();
+        }
+    }
+
+    public V get(K key) {
+        Node<K, V> node = map.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        afterRead(node);
+        return node.value;
+    }
+
+    // get, and on a miss compute and put (not single-flight: see LoadingCache for that).
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        if (value == null) {
+            throw new NullPointerException("null values are not allowed");
+        }
+        Node<K, V> node = new Node<>(key, value);
+        Node<K, V> prior = map.putIfAbsent(key, node);
+        if (prior != null) {
+            prior.value = value;
+            afterRead(prior);
+            return;
+        }
+        evictionLock.lock();
+        try {
+            drainReadBuffers();
+            sketch.increment(key.hashCode());
+            if (node.alive) {
+                window.addLast(node);
+                node.segment = Node.WINDOW;
+            }
+            evictEntries();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        Node<K, V> node = map.remove(key);
+        if (node != null) {
+            node.alive = false;
+            evictionLock.lock();
+            try {
+                unlink(node);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    public long size() {
+        return map.size();
+    }
+
+    public long maximumSize() {
+        return maximumSize;
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 1.0 : (double) h / total;
+    }
+
+    // ---------------------------------------------------------------- reads
+
+    private void afterRead(Node<K, V> node) {
+        int[] h = probe.get();
+        ReadBuffer<K, V> buffer = readBuffers[h[0] & (readBuffers.length - 1)];
+        long pending = buffer.offer(node);
+        if (pending < 0) {
+            h[0] = h[0] * 0x9E3779B9 + 1;   // buffer full or contended: try another stripe next time
+        }
+        if ((pending < 0 || pending >= DRAIN_THRESHOLD) && evictionLock.tryLock()) {
+            try {
+                drainReadBuffers();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    // Caller must hold evictionLock.
+    private void drainReadBuffers() {
+        for (ReadBuffer<K, V> buffer : readBuffers) {
+            buffer.drainTo(this);
+        }
+    }
+
+    // Caller must hold evictionLock.
+    private void onAccess(Node<K, V> node) {
+        sketch.increment(node.key.hashCode());
+        if (!node.alive) {
+            return;
+        }
+        switch (node.segment) {
+            case Node.WINDOW:
+                window.moveToLast(node);
+                break;
+            case Node.PROBATION:
+                // Second hit: promote to protected, and demote protected's LRU entry if it is full
+                probation.remove(node);
+                protectedSegment.addLast(node);
+                node.segment = Node.PROTECTED;
+                if (protectedSegment.size > protectedMaximum) {
+                    Node<K, V> demoted = protectedSegment.pollFirst();
+                    probation.addLast(demoted);
+                    demoted.segment = Node.PROBATION;
+                }
+                break;
+            case Node.PROTECTED:
+                protectedSegment.moveToLast(node);
+                break;
+            default:
+                break;   // not linked yet
+        }
+    }
+
+    // ---------------------------------------------------------------- eviction
+
+    // Caller must hold evictionLock.
+    private void evictEntries() {
+        // Entries leaving the window become candidates for the main area
+        while (window.size > windowMaximum) {
+            Node<K, V> candidate = window.pollFirst();
+            probation.addLast(candidate);
+            candidate.segment = Node.PROBATION;
+
+            if (window.size + probation.size + protectedSegment.size <= maximumSize) {
+                continue;   // still room: admit without a contest
+            }
+            Node<K, V> victim = probation.peekFirst();
+            if (victim == candidate) {
+                victim = protectedSegment.peekFirst();
+            }
+            if (victim == null) {
+                evict(candidate);
+            } else if (sketch.frequency(candidate.key.hashCode()) > sketch.frequency(victim.key.hashCode())) {
+                evict(victim);
+            } else {
+                evict(candidate);
+            }
+        }
+    }
+
+    private void evict(Node<K, V> node) {
+        unlink(node);
+        node.alive = false;
+        if (map.remove(node.key, node)) {
+            evictions.increment();
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        switch (node.segment) {
+            case Node.WINDOW:
+                window.remove(node);
+                break;
+            case Node.PROBATION:
+                probation.remove(node);
+                break;
+            case Node.PROTECTED:
+                protectedSegment.remove(node);
+                break;
+            default:
+                break;
+        }
+        node.segment = Node.UNLINKED;
+    }
+
+    // ---------------------------------------------------------------- building blocks
+
+    static final class Node<K, V> {
+        static final int UNLINKED = 0;
+        static final int WINDOW = 1;
+        static final int PROBATION = 2;
+        static final int PROTECTED = 3;
+
+        final K key;
+        volatile V value;
+        volatile boolean alive = true;
+
+        // Guarded by evictionLock
+        int segment = UNLINKED;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    // A doubly linked list in access order: least recently used first.
+    static final class AccessOrderDeque<K, V> {
+        Node<K, V> first;
+        Node<K, V> last;
+        long size;
+
+        void addLast(Node<K, V> node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+            size++;
+        }
+
+        Node<K, V> peekFirst() {
+            return first;
+        }
+
+        Node<K, V> pollFirst() {
+            Node<K, V> node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+
+    /*
+    A lossy, bounded buffer of "this node was read" records. Many threads may add; only the
+    thread holding evictionLock drains. When full, new records are dropped instead of waiting.
+    */
+    static final class ReadBuffer<K, V> {
+        final AtomicReferenceArray<Node<K, V>> slots = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        final AtomicLong writeCount = new AtomicLong();
+        volatile long readCount;
+
+        // Returns how many records are waiting, or -1 if the record was dropped.
+        long offer(Node<K, V> node) {
+            long head = readCount;
+            long tail = writeCount.get();
+            long size = tail - head;
+            if (size >= READ_BUFFER_SIZE) {
+                return -1;
+            }
+            if (writeCount.compareAndSet(tail, tail + 1)) {
+                slots.lazySet((int) tail & READ_BUFFER_MASK, node);
+                return size + 1;
+            }
+            return -1;
+        }
+
+        // Caller must hold evictionLock.
+        void drainTo(BoundedCache<K, V> cache) {
+            long head = readCount;
+            long tail = writeCount.get();
+            for (; head < tail; head++) {
+                int index = (int) head & READ_BUFFER_MASK;
+                Node<K, V> node = slots.get(index);
+                if (node == null) {
+                    break;   // the writer claimed this slot but has not stored the node yet
+                }
+                slots.lazySet(index, null);
+                cache.onAccess(node);
+            }
+            readCount = head;
+        }
+    }
+
+    /*
+    Count-min sketch with 4-bit counters (max 15), four counters per key.
+    The estimate is the smallest of the four, which limits the damage of hash collisions.
+    Not thread-safe: only used while holding evictionLock.
+    */
+    static final class FrequencySketch {
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int tableMask;
+        private final long sampleSize;
+        private long additions;
+
+        FrequencySketch(long maximumSize) {
+            int size = 1;
+            while (size < Math.min(maximumSize, 1 << 30)) {
+                size <<= 1;
+            }
+            this.table = new long[size];
+            this.tableMask = size - 1;
+            this.sampleSize = 10L * Math.max(maximumSize, 1);
+        }
+
+        int frequency(int hashCode) {
+            int hash = spread(hashCode);
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xF);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        void increment(int hashCode) {
+            int hash = spread(hashCode);
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int offset = (start + i) << 2;
+                long mask = 0xFL << offset;
+                if ((table[index] & mask) != mask) {
+                    table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        // Halve every counter so that old popularity fades ("aging").
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions /= 2;
+        }
+
+        private int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return (int) h & tableMask;
+        }
+
+        private static int spread(int x) {
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            return (x >>> 16) ^ x;
+        }
+    }
+}
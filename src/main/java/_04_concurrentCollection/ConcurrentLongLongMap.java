@@ -0,0 +1,301 @@
+package main.java._04_concurrentCollection;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.StampedLock;
+
+/*
+===============================================
+CONCURRENT long → long MAP WITH OPEN ADDRESSING
+===============================================
+
+WHY NOT ConcurrentHashMap<Long, Long>?
+- Every key and value is a boxed `Long` object (16 bytes each), and every entry is a `Node`
+  object (32 bytes) plus a slot in the table. Roughly 70-80 bytes and 3 objects per entry.
+- With tens of millions of entries, that is gigabytes of small objects the GC has to trace.
+
+OPEN ADDRESSING:
+- Keys and values are stored directly in ONE `long` array: [key0, value0, key1, value1, ...].
+- To find a key: hash it to a slot; if the slot holds another key, try the next slot
+  ("linear probing") until the key or an empty slot is found.
+- With a load factor of 0.5 that is ~32 bytes per entry and ZERO objects per entry.
+
+HOW IT STAYS THREAD-SAFE:
+1. **Segments**: the map is split into 64 independent tables, chosen by the key's hash, so a resize
+   only ever stops writers of one segment.
+2. **CAS insert**: a writer claims an empty slot with `compareAndSet(EMPTY, key)`. If another writer
+   got there first, it simply probes on. Two writers of different keys never block each other.
+3. **Resize**: when a segment is half full, its table is copied into one twice as large.
+   Writers hold the segment's `StampedLock` in SHARED mode (many at once); the resize holds it in
+   EXCLUSIVE mode, so no write is lost while entries are copied.
+4. **Lock-free reads**: `get` uses an optimistic stamp. It reads without locking and only retries
+   if a resize happened during the read.
+
+LIMITATIONS (ON PURPOSE):
+- `missingValue` (chosen in the constructor) is returned for absent keys, so it cannot be stored as a value.
+- A removed key keeps its slot until the next resize of its segment (no "tombstone" reuse by other keys).
+*/
+
+public class ConcurrentLongLongMap {
+    private static final int SEGMENTS = 64;
+    private static final long EMPTY = 0;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final long missingValue;
+    private final AtomicLong zeroKeyValue;   // key 0 marks empty slots, so it is stored separately
+
+    public ConcurrentLongLongMap(long expectedSize, long missingValue) {
+        this.missingValue = missingValue;
+        this.zeroKeyValue = new AtomicLong(missingValue);
+        int perSegment = (int) Math.min(1 << 28, Math.max(8, expectedSize * 2 / SEGMENTS));
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment, missingValue);
+        }
+    }
+
+    public long get(long key) {
+        if (key == EMPTY) {
+            return zeroKeyValue.get();
+        }
+        long hash = mix(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != missingValue;
+    }
+
+    // Returns the previous value, or missingValue.
+    public long put(long key, long value) {
+        if (value == missingValue) {
+            throw new IllegalArgumentException("missingValue cannot be stored: " + value);
+        }
+        if (key == EMPTY) {
+            return zeroKeyValue.getAndSet(value);
+        }
+        long hash = mix(key);
+        return segmentFor(hash).put(key, hash, value, false);
+    }
+
+    // Stores the value only if the key is absent. Returns the existing value, or missingValue if it was stored.
+    public long putIfAbsent(long key, long value) {
+        if (value == missingValue) {
+            throw new IllegalArgumentException("missingValue cannot be stored: " + value);
+        }
+        if (key == EMPTY) {
+            return zeroKeyValue.compareAndSet(missingValue, value) ? missingValue : zeroKeyValue.get();
+        }
+        long hash = mix(key);
+        return segmentFor(hash).put(key, hash, value, true);
+    }
+
+    // Returns the removed value, or missingValue.
+    public long remove(long key) {
+        if (key == EMPTY) {
+            return zeroKeyValue.getAndSet(missingValue);
+        }
+        long hash = mix(key);
+        return segmentFor(hash).remove(key, hash);
+    }
+
+    public long size() {
+        long size = zeroKeyValue.get() != missingValue ? 1 : 0;
+        for (Segment segment : segments) {
+            size += segment.live.get();
+        }
+        return size;
+    }
+
+    public long missingValue() {
+        return missingValue;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 58) & (SEGMENTS - 1)];
+    }
+
+    // Spreads the key's bits so that sequential IDs do not land in neighbouring slots.
+    static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private static final class Segment {
+        private final StampedLock resizeLock = new StampedLock();
+        private final AtomicInteger used = new AtomicInteger();   // slots holding a key (live or removed)
+        private final AtomicInteger live = new AtomicInteger();   // keys holding a value
+        private final long missingValue;
+        private volatile AtomicLongArray table;                   // [key, value] pairs
+
+        Segment(int capacity, long missingValue) {
+            this.missingValue = missingValue;
+            this.table = newTable(powerOfTwo(capacity), missingValue);
+        }
+
+        long get(long key, long hash) {
+            long stamp = resizeLock.tryOptimisticRead();
+            long value = find(table, key, hash);
+            if (stamp != 0 && resizeLock.validate(stamp)) {
+                return value;
+            }
+            stamp = resizeLock.readLock();   // a resize ran during the read: read again behind it
+            try {
+                return find(table, key, hash);
+            } finally {
+                resizeLock.unlockRead(stamp);
+            }
+        }
+
+        long put(long key, long hash, long value, boolean onlyIfAbsent) {
+            while (true) {
+                boolean stored = false;
+                boolean resize = false;
+                long previous = missingValue;
+                long stamp = resizeLock.readLock();
+                try {
+                    AtomicLongArray t = table;
+                    int slots = t.length() >>> 1;
+                    int mask = slots - 1;
+                    int index = (int) hash & mask;
+                    for (int probes = 0; probes < slots; probes++) {
+                        int keySlot = index << 1;
+                        long current = t.get(keySlot);
+                        if (current == EMPTY) {
+                            if (!t.compareAndSet(keySlot, EMPTY, key)) {
+                                probes--;
+                                continue;   // another writer took this slot: look at it again
+                            }
+                            resize = used.incrementAndGet() > (slots >>> 1);
+                            current = key;
+                        }
+                        if (current == key) {
+                            previous = setValue(t, keySlot + 1, value, onlyIfAbsent);
+                            stored = true;
+                            break;
+                        }
+                        index = (index + 1) & mask;
+                    }
+                    resize |= !stored;   // every slot taken (only possible with many removed keys)
+                } finally {
+                    resizeLock.unlockRead(stamp);
+                }
+                if (resize) {
+                    resize();
+                }
+                if (stored) {
+                    return previous;
+                }
+            }
+        }
+
+        long remove(long key, long hash) {
+            long stamp = resizeLock.readLock();
+            try {
+                AtomicLongArray t = table;
+                int keySlot = findKeySlot(t, key, hash);
+                if (keySlot < 0) {
+                    return missingValue;
+                }
+                long previous = t.getAndSet(keySlot + 1, missingValue);
+                if (previous != missingValue) {
+                    live.decrementAndGet();
+                }
+                return previous;
+            } finally {
+                resizeLock.unlockRead(stamp);
+            }
+        }
+
+        private long setValue(AtomicLongArray t, int valueSlot, long value, boolean onlyIfAbsent) {
+            while (true) {
+                long previous = t.get(valueSlot);
+                if (onlyIfAbsent && previous != missingValue) {
+                    return previous;
+                }
+                if (t.compareAndSet(valueSlot, previous, value)) {
+                    if (previous == missingValue) {
+                        live.incrementAndGet();
+                    }
+                    return previous;
+                }
+            }
+        }
+
+        // Exclusive: no writer runs while entries are copied. Removed keys are dropped here.
+        private void resize() {
+            long stamp = resizeLock.writeLock();
+            try {
+                AtomicLongArray old = table;
+                int oldSlots = old.length() >>> 1;
+                if (used.get() <= (oldSlots >>> 1)) {
+                    return;   // another writer already resized
+                }
+                // Mostly removed keys: rebuild at the same size. Otherwise double.
+                int newSlots = live.get() > (oldSlots >>> 2) ? oldSlots << 1 : oldSlots;
+                AtomicLongArray grown = newTable(newSlots, missingValue);
+                int mask = newSlots - 1;
+                int count = 0;
+                for (int i = 0; i < oldSlots; i++) {
+                    long key = old.get(i << 1);
+                    long value = old.get((i << 1) + 1);
+                    if (key == EMPTY || value == missingValue) {
+                        continue;
+                    }
+                    int index = (int) mix(key) & mask;
+                    while (grown.get(index << 1) != EMPTY) {
+                        index = (index + 1) & mask;
+                    }
+                    grown.set(index << 1, key);
+                    grown.set((index << 1) + 1, value);
+                    count++;
+                }
+                used.set(count);
+                table = grown;
+            } finally {
+                resizeLock.unlockWrite(stamp);
+            }
+        }
+
+        private long find(AtomicLongArray t, long key, long hash) {
+            int keySlot = findKeySlot(t, key, hash);
+            return keySlot < 0 ? missingValue : t.get(keySlot + 1);
+        }
+
+        private static int findKeySlot(AtomicLongArray t, long key, long hash) {
+            int slots = t.length() >>> 1;
+            int mask = slots - 1;
+            int index = (int) hash & mask;
+            for (int probes = 0; probes < slots; probes++) {
+                long current = t.get(index << 1);
+                if (current == key) {
+                    return index << 1;
+                }
+                if (current == EMPTY) {
+                    return -1;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        // Value slots start as missingValue, so a key whose value is not yet written reads as absent.
+        private static AtomicLongArray newTable(int slots, long missingValue) {
+            AtomicLongArray t = new AtomicLongArray(2 * slots);
+            if (missingValue != 0) {
+                for (int i = 0; i < slots; i++) {
+                    t.set((i << 1) + 1, missingValue);
+                }
+            }
+            return t;
+        }
+
+        private static int powerOfTwo(int n) {
+            int size = 1;
+            while (size < n) {
+                size <<= 1;
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package main.java._04_concurrentCollection;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.StampedLock;
+
+/*
+===============================================
+CONCURRENT long → Object MAP WITH OPEN ADDRESSING
+===============================================
+
+- The same design as `ConcurrentLongLongMap` (segments, linear probing, CAS insert, resize under an
+  exclusive `StampedLock`, optimistic lock-free reads), for maps from a numeric ID to an object.
+- Keys live in a `long` array, values in a parallel reference array: no `Long` key object and no
+  `Node` object per entry. Only the value object itself remains.
+- `null` means "absent", so null values are not allowed (the same rule as `ConcurrentHashMap`).
+*/
+
+public class ConcurrentLongObjectMap<V> {
+    private static final int SEGMENTS = 64;
+    private static final long EMPTY = 0;
+
+    private final Segment<V>[] segments;
+    private final AtomicReference<V> zeroKeyValue = new AtomicReference<>();   // key 0 marks empty slots
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ConcurrentLongObjectMap(long expectedSize) {
+        int perSegment = (int) Math.min(1 << 28, Math.max(8, expectedSize * 2 / SEGMENTS));
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+    }
+
+    public V get(long key) {
+        if (key == EMPTY) {
+            return zeroKeyValue.get();
+        }
+        long hash = ConcurrentLongLongMap.mix(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    // Returns the previous value, or null.
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("null values are not allowed");
+        }
+        if (key == EMPTY) {
+            return zeroKeyValue.getAndSet(value);
+        }
+        long hash = ConcurrentLongLongMap.mix(key);
+        return segmentFor(hash).put(key, hash, value, false);
+    }
+
+    // Stores the value only if the key is absent. Returns the existing value, or null if it was stored.
+    public V putIfAbsent(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("null values are not allowed");
+        }
+        if (key == EMPTY) {
+            return zeroKeyValue.compareAndSet(null, value) ? null : zeroKeyValue.get();
+        }
+        long hash = ConcurrentLongLongMap.mix(key);
+        return segmentFor(hash).put(key, hash, value, true);
+    }
+
+    // Returns the removed value, or null.
+    public V remove(long key) {
+        if (key == EMPTY) {
+            return zeroKeyValue.getAndSet(null);
+        }
+        long hash = ConcurrentLongLongMap.mix(key);
+        return segmentFor(hash).remove(key, hash);
+    }
+
+    public long size() {
+        long size = zeroKeyValue.get() != null ? 1 : 0;
+        for (Segment<V> segment : segments) {
+            size += segment.live.get();
+        }
+        return size;
+    }
+
+    private Segment<V> segmentFor(long hash) {
+        return segments[(int) (hash >>> 58) & (SEGMENTS - 1)];
+    }
+
+    private static final class Segment<V> {
+        private final StampedLock resizeLock = new StampedLock();
+        private final AtomicInteger used = new AtomicInteger();   // slots holding a key (live or removed)
+        private final AtomicInteger live = new AtomicInteger();   // keys holding a value
+        private volatile Table<V> table;
+
+        Segment(int capacity) {
+            int slots = 1;
+            while (slots < capacity) {
+                slots <<= 1;
+            }
+            this.table = new Table<>(slots);
+        }
+
+        V get(long key, long hash) {
+            long stamp = resizeLock.tryOptimisticRead();
+            V value = table.find(key, hash);
+            if (stamp != 0 && resizeLock.validate(stamp)) {
+                return value;
+            }
+            stamp = resizeLock.readLock();   // a resize ran during the read: read again behind it
+            try {
+                return table.find(key, hash);
+            } finally {
+                resizeLock.unlockRead(stamp);
+            }
+        }
+
+        V put(long key, long hash, V value, boolean onlyIfAbsent) {
+            while (true) {
+                boolean stored = false;
+                boolean resize = false;
+                V previous = null;
+                long stamp = resizeLock.readLock();
+                try {
+                    Table<V> t = table;
+                    int mask = t.slots() - 1;
+                    int index = (int) hash & mask;
+                    for (int probes = 0; probes < t.slots(); probes++) {
+                        long current = t.keys.get(index);
+                        if (current == EMPTY) {
+                            if (!t.keys.compareAndSet(index, EMPTY, key)) {
+                                probes--;
+                                continue;   // another writer took this slot: look at it again
+                            }
+                            resize = used.incrementAndGet() > (t.slots() >>> 1);
+                            current = key;
+                        }
+                        if (current == key) {
+                            previous = onlyIfAbsent
+                                    ? t.values.compareAndExchange(index, null, value)
+                                    : t.values.getAndSet(index, value);
+                            if (previous == null) {
+                                live.incrementAndGet();
+                            }
+                            stored = true;
+                            break;
+                        }
+                        index = (index + 1) & mask;
+                    }
+                    resize |= !stored;   // every slot taken (only possible with many removed keys)
+                } finally {
+                    resizeLock.unlockRead(stamp);
+                }
+                if (resize) {
+                    resize();
+                }
+                if (stored) {
+                    return previous;
+                }
+            }
+        }
+
+        V remove(long key, long hash) {
+            long stamp = resizeLock.readLock();
+            try {
+                Table<V> t = table;
+                int index = t.findIndex(key, hash);
+                if (index < 0) {
+                    return null;
+                }
+                V previous = t.values.getAndSet(index, null);
+                if (previous != null) {
+                    live.decrementAndGet();
+                }
+                return previous;
+            } finally {
+                resizeLock.unlockRead(stamp);
+            }
+        }
+
+        // Exclusive: no writer runs while entries are copied. Removed keys are dropped here.
+        private void resize() {
+            long stamp = resizeLock.writeLock();
+            try {
+                Table<V> old = table;
+                if (used.get() <= (old.slots() >>> 1)) {
+                    return;   // another writer already resized
+                }
+                // Mostly removed keys: rebuild at the same size. Otherwise double.
+                int newSlots = live.get() > (old.slots() >>> 2) ? old.slots() << 1 : old.slots();
+                Table<V> grown = new Table<>(newSlots);
+                int mask = newSlots - 1;
+                int count = 0;
+                for (int i = 0; i < old.slots(); i++) {
+                    long key = old.keys.get(i);
+                    V value = old.values.get(i);
+                    if (key == EMPTY || value == null) {
+                        continue;
+                    }
+                    int index = (int) ConcurrentLongLongMap.mix(key) & mask;
+                    while (grown.keys.get(index) != EMPTY) {
+                        index = (index + 1) & mask;
+                    }
+                    grown.keys.set(index, key);
+                    grown.values.set(index, value);
+                    count++;
+                }
+                used.set(count);
+                table = grown;
+            } finally {
+                resizeLock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    // Parallel key and value arrays, swapped as one unit on resize.
+    private static final class Table<V> {
+        final AtomicLongArray keys;
+        final AtomicReferenceArray<V> values;
+
+        Table(int slots) {
+            this.keys = new AtomicLongArray(slots);
+            this.values = new AtomicReferenceArray<>(slots);
+        }
+
+        int slots() {
+            return keys.length();
+        }
+
+        V find(long key, long hash) {
+            int index = findIndex(key, hash);
+            return index < 0 ? null : values.get(index);
+        }
+
+        int findIndex(long key, long hash) {
+            int mask = slots() - 1;
+            int index = (int) hash & mask;
+            for (int probes = 0; probes < slots(); probes++) {
+                long current = keys.get(index);
+                if (current == key) {
+                    return index;
+                }
+                if (current == EMPTY) {
+                    return -1;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+    }
+}
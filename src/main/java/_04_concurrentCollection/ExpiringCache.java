@@ -0,0 +1,223 @@
+package main.java._04_concurrentCollection;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/*
+===============================================
+TIME-BASED EXPIRY AND REFRESH-AHEAD
+===============================================
+
+THE PROBLEM:
+- Entries in `_04_ConcurrentHashMapDemo.cache` live forever, but the data behind `compute()` changes.
+  A cached value should only be trusted for a limited time.
+
+TWO EXPIRY POLICIES:
+1. **AFTER_WRITE**: an entry expires a fixed time after it was loaded ("data is stale after 10 minutes").
+2. **AFTER_ACCESS**: an entry expires a fixed time after it was last READ ("drop keys nobody uses").
+
+HOW EXPIRED ENTRIES ARE FOUND (O(1), NO FULL SCAN):
+- Every entry is a timer in a `TimerWheel`. Moving the wheel forward only visits the buckets whose time has come.
+- A read never touches the wheel. It only writes the entry's `accessTime` (one volatile write).
+  When the wheel later fires for that entry, the cache recomputes the real deadline; if the entry was
+  read in the meantime, it is simply rescheduled. This keeps reads lock-free.
+- `get()` always checks the deadline itself, so an expired value is never returned, even if the wheel
+  has not cleaned it up yet. The wheel exists to free the memory.
+
+REFRESH-AHEAD:
+- Without it, the first reader after expiry waits for the full 1-second `compute()`.
+- With `refreshAfter` set (shorter than the expiry), a read of an entry OLDER than `refreshAfter`
+  returns the current value immediately AND starts a reload in the background.
+- When the reload finishes, the entry gets the new value and a new write time.
+- Hot keys are therefore reloaded before they expire and readers never wait. Cold keys are
+  not refreshed (nobody read them) and simply expire.
+- Only one refresh per entry runs at a time (an `AtomicBoolean` guards it).
+
+IMPORTANT NOTES:
+- Cleanup runs on writes and, at most about once per timer tick, on reads (with `tryLock`, never waiting).
+- Misses are not single-flight: combine with `LoadingCache` if that matters.
+*/
+
+public class ExpiringCache<K, V> {
+    public enum Expiry {
+        AFTER_WRITE,
+        AFTER_ACCESS
+    }
+
+    private static final long CLEANUP_INTERVAL_NANOS = 1L << 24;   // one level-0 bucket of the wheel
+
+    private final ConcurrentHashMap<K, Entry<K, V>> map = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TimerWheel<Entry<K, V>> wheel;
+    private final Expiry expiry;
+    private final long expireNanos;
+    private final long refreshNanos;
+    private final Executor refreshExecutor;
+    private volatile long lastCleanup;
+
+    public ExpiringCache(Expiry expiry, long duration, TimeUnit unit) {
+        this(expiry, duration, 0, unit, ForkJoinPool.commonPool());
+    }
+
+    // refreshAfter = 0 disables refresh-ahead.
+    public ExpiringCache(Expiry expiry, long duration, long refreshAfter, TimeUnit unit, Executor refreshExecutor) {
+        if (duration <= 0) {
+            throw new IllegalArgumentException("duration must be positive: " + duration);
+        }
+        if (refreshAfter < 0 || refreshAfter >= duration) {
+            throw new IllegalArgumentException("refreshAfter must be >= 0 and shorter than the expiry");
+        }
+        this.expiry = expiry;
+        this.expireNanos = unit.toNanos(duration);
+        this.refreshNanos = unit.toNanos(refreshAfter);
+        this.refreshExecutor = refreshExecutor;
+        long now = System.nanoTime();
+        this.wheel = new TimerWheel<>(now);
+        this.lastCleanup = now;
+    }
+
+    public V getIfPresent(K key) {
+        long now = System.nanoTime();
+        Entry<K, V> entry = map.get(key);
+        V value = null;
+        if (entry != null && !isExpired(entry, now)) {
+            entry.accessTime = now;
+            value = entry.value;
+            refreshIfNeeded(entry, now);
+        }
+        cleanUpIfDue(now);
+        return value;
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = getIfPresent(key);
+        if (value == null) {
+            value = loader.apply(key);
+            put(key, value, loader);
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, null);
+    }
+
+    public void invalidate(K key) {
+        Entry<K, V> entry = map.remove(key);
+        if (entry != null) {
+            lock.lock();
+            try {
+                wheel.deschedule(entry);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    // Removes every entry whose time is up. Runs automatically, but can also be called directly.
+    public void cleanUp() {
+        lock.lock();
+        try {
+            expireEntries(System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(K key, V value, Function<? super K, ? extends V> loader) {
+        if (value == null) {
+            throw new NullPointerException("null values are not allowed");
+        }
+        long now = System.nanoTime();
+        Entry<K, V> entry = new Entry<>(key, value, loader, now);
+        lock.lock();
+        try {
+            Entry<K, V> old = map.put(key, entry);
+            if (old != null) {
+                wheel.deschedule(old);
+            }
+            wheel.schedule(entry, deadline(entry));
+            expireEntries(now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refreshIfNeeded(Entry<K, V> entry, long now) {
+        if (refreshNanos == 0 || entry.loader == null || now - entry.writeTime < refreshNanos
+                || !entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refreshExecutor.execute(() -> {
+            try {
+                V value = entry.loader.apply(entry.key);
+                if (value != null && map.get(entry.key) == entry) {
+                    entry.value = value;
+                    entry.writeTime = System.nanoTime();   // the wheel picks up the new deadline lazily
+                }
+            } catch (RuntimeException e) {
+                // Keep serving the old value; the entry still expires on time if refreshes keep failing
+            } finally {
+                entry.refreshing.set(false);
+            }
+        });
+    }
+
+    private void cleanUpIfDue(long now) {
+        if (now - lastCleanup >= CLEANUP_INTERVAL_NANOS && lock.tryLock()) {
+            try {
+                expireEntries(now);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Caller must hold lock.
+    private void expireEntries(long now) {
+        lastCleanup = now;
+        wheel.advance(now, (entry, time) -> {
+            long deadline = deadline(entry);
+            if (deadline - time > 0) {
+                return deadline;   // read or refreshed since it was scheduled: not expired yet
+            }
+            map.remove(entry.key, entry);
+            return -1;
+        });
+    }
+
+    private boolean isExpired(Entry<K, V> entry, long now) {
+        return deadline(entry) - now <= 0;
+    }
+
+    private long deadline(Entry<K, V> entry) {
+        long base = expiry == Expiry.AFTER_WRITE ? entry.writeTime : Math.max(entry.writeTime, entry.accessTime);
+        return base + expireNanos;
+    }
+
+    static final class Entry<K, V> extends TimerWheel.Timer {
+        final K key;
+        final Function<? super K, ? extends V> loader;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        volatile V value;
+        volatile long writeTime;
+        volatile long accessTime;
+
+        Entry(K key, V value, Function<? super K, ? extends V> loader, long now) {
+            this.key = key;
+            this.value = value;
+            this.loader = loader;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+    }
+}
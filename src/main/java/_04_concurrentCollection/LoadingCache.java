@@ -0,0 +1,138 @@
+package main.java._04_concurrentCollection;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/*
+===============================================
+SINGLE-FLIGHT LOADING CACHE
+===============================================
+
+THE PROBLEM (CACHE STAMPEDE):
+- `_04_ConcurrentHashMapDemo.getCachedValue` does: `get` → (miss) → `compute` → `put`.
+- Each step is thread-safe, but the three steps together are NOT atomic.
+- If 10 threads miss the same key at the same time, all 10 see `null` and all 10 run the
+  1-second `compute()`. Under load this is called a "stampede": the slow backend gets hit
+  10 times for one value.
+
+WHY NOT JUST computeIfAbsent()?
+- `ConcurrentHashMap.computeIfAbsent` does run the function only once per key, BUT it runs it
+  while holding the lock of the key's hash bin.
+- Other keys that happen to land in the same bin wait for the whole 1-second computation,
+  and the function must not touch the map itself.
+
+THE SINGLE-FLIGHT IDEA:
+- The map stores a `CompletableFuture<V>`: a placeholder for a value that may still be loading.
+- On a miss, a thread creates an empty future and tries `putIfAbsent`. Exactly one thread wins:
+  - The winner runs the loader and completes the future.
+  - Every other thread finds the winner's future and waits for it.
+- The map is only locked for the tiny `putIfAbsent`, never during the load, so other keys
+  (even in the same bin) are never blocked.
+
+SYNC AND ASYNC:
+- `get(key, loader)` → the winning caller runs the loader itself; everyone blocks until the value is ready.
+- `getAsync(key, loader)` → the loader runs on an `Executor`; everyone gets the same `CompletableFuture`
+  immediately and can chain work onto it without blocking a thread.
+
+FAILURES:
+- If the loader throws, the future is removed from the map, so the next request tries again
+  instead of getting the same error forever. All callers waiting on that load see the exception.
+- If the executor rejects the load (saturated or shut down), `getAsync` does the same and rethrows
+  the `RejectedExecutionException`.
+*/
+
+public class LoadingCache<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> map = new ConcurrentHashMap<>();
+    private final Executor executor;
+
+    public LoadingCache() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public LoadingCache(Executor executor) {
+        this.executor = executor;
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> future = map.get(key);
+        if (future == null) {
+            CompletableFuture<V> created = new CompletableFuture<>();
+            future = map.putIfAbsent(key, created);
+            if (future == null) {
+                future = created;
+                load(key, loader, created);   // we won: load in this thread
+            }
+        }
+        return join(future);
+    }
+
+    public CompletableFuture<V> getAsync(K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> future = map.get(key);
+        if (future == null) {
+            CompletableFuture<V> created = new CompletableFuture<>();
+            future = map.putIfAbsent(key, created);
+            if (future == null) {
+                future = created;
+                try {
+                    executor.execute(() -> load(key, loader, created));
+                } catch (RejectedExecutionException e) {
+                    // Nobody will ever complete it: fail the waiters and let the next caller retry
+                    map.remove(key, created);
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        return future;
+    }
+
+    // Returns the value only if it is already loaded; never waits and never loads.
+    public V getIfPresent(K key) {
+        CompletableFuture<V> future = map.get(key);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        return future.join();
+    }
+
+    public void put(K key, V value) {
+        map.put(key, CompletableFuture.completedFuture(value));
+    }
+
+    public void invalidate(K key) {
+        map.remove(key);
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    private void load(K key, Function<? super K, ? extends V> loader, CompletableFuture<V> future) {
+        try {
+            V value = loader.apply(key);
+            if (value == null) {
+                throw new NullPointerException("loader returned null for key " + key);
+            }
+            future.complete(value);
+        } catch (Throwable e) {
+            map.remove(key, future);   // let the next request retry
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
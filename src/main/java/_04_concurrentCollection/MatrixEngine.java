@@ -0,0 +1,389 @@
+package main.java._04_concurrentCollection;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/*
+===============================================
+PARALLEL MATRIX ENGINE: FORK/JOIN OVER CACHE-SIZED TILES
+===============================================
+
+WHY NOT ONE THREAD PER ROW?
+- `_05_CyclicBarrierDemo` starts a new Thread per row and per column. For 3 rows that is fine; for
+  50,000 rows it is 50,000 thread starts (tens of microseconds each) for a few microseconds of work
+  each, and far more threads than cores fighting for them.
+
+THE IDEA:
+- Split the matrix into TILES: blocks of rows × columns of about 16K values (128 KB), small enough to
+  stay in the core's cache while it is worked on.
+- A `RecursiveTask` covers a block of the matrix. If the block is larger than a tile, it splits its
+  LONGER side in two, forks one half and computes the other itself. Tiles are computed directly.
+- All tasks run on ONE `ForkJoinPool` owned by the engine and reused for every operation: its
+  threads are started once, and idle threads steal forked halves from busy ones (load balancing).
+
+OPERATIONS:
+- Element-wise: `map(m, x -> x * x)`, `mapInPlace(m, op)`, `combine(a, b, Double::sum)`.
+- Reductions with any associative operator and its identity:
+  - `reduceRows(m, 0, Double::sum)` → one value per row,
+  - `reduceColumns(m, 0, Double::sum)` → one value per column,
+  - `reduce(m, 0, Double::sum)` → one value for the whole matrix.
+- A reduction tile produces a partial result for its block; partial results of the two halves are
+  merged on the way back up (element by element, or placed side by side, depending on the split).
+
+IMPORTANT NOTES:
+- `Matrix` stores its values in ONE `double[]`, row after row: no array object per row, and a
+  tile's rows are contiguous runs of memory.
+- The operators must be side-effect free and the reduction operator associative (sum, min, max):
+  the order in which partial results are merged is not fixed.
+- Element-wise work reads and writes each value once: on large matrices it is limited by memory
+  bandwidth, not by the number of cores.
+- Close the engine (try-with-resources) to stop its pool.
+*/
+
+public class MatrixEngine implements AutoCloseable {
+    // ~128 KB of doubles per tile: fits in a typical L2 cache
+    private static final int TILE_ELEMENTS = 16 * 1024;
+
+    private final ForkJoinPool pool;
+
+    public MatrixEngine() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public MatrixEngine(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public int parallelism() {
+        return pool.getParallelism();
+    }
+
+    public Matrix map(Matrix m, DoubleUnaryOperator op) {
+        Matrix result = new Matrix(m.rows, m.cols);
+        pool.invoke(new MapTask(m, result, op, 0, m.rows, 0, m.cols));
+        return result;
+    }
+
+    public void mapInPlace(Matrix m, DoubleUnaryOperator op) {
+        pool.invoke(new MapTask(m, m, op, 0, m.rows, 0, m.cols));
+    }
+
+    public Matrix combine(Matrix a, Matrix b, DoubleBinaryOperator op) {
+        if (a.rows != b.rows || a.cols != b.cols) {
+            throw new IllegalArgumentException("Matrix sizes differ: " + a.rows + "x" + a.cols + " and " + b.rows + "x" + b.cols);
+        }
+        Matrix result = new Matrix(a.rows, a.cols);
+        pool.invoke(new CombineTask(a, b, result, op, 0, a.rows, 0, a.cols));
+        return result;
+    }
+
+    public double[] reduceRows(Matrix m, double identity, DoubleBinaryOperator op) {
+        return pool.invoke(new RowReduceTask(m, identity, op, 0, m.rows, 0, m.cols));
+    }
+
+    public double[] reduceColumns(Matrix m, double identity, DoubleBinaryOperator op) {
+        return pool.invoke(new ColumnReduceTask(m, identity, op, 0, m.rows, 0, m.cols));
+    }
+
+    public double reduce(Matrix m, double identity, DoubleBinaryOperator op) {
+        return pool.invoke(new TotalReduceTask(m, identity, op, 0, m.rows, 0, m.cols));
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    public static final class Matrix {
+        private final int rows;
+        private final int cols;
+        private final double[] values;   // row-major: value (r, c) is at r * cols + c
+
+        public Matrix(int rows, int cols) {
+            if (rows <= 0 || cols <= 0) {
+                throw new IllegalArgumentException("Matrix size must be positive: " + rows + "x" + cols);
+            }
+            if ((long) rows * cols > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Matrix too large for one array: " + rows + "x" + cols);
+            }
+            this.rows = rows;
+            this.cols = cols;
+            this.values = new double[rows * cols];
+        }
+
+        public static Matrix of(int[][] source) {
+            Matrix m = new Matrix(source.length, source[0].length);
+            for (int r = 0; r < m.rows; r++) {
+                for (int c = 0; c < m.cols; c++) {
+                    m.set(r, c, source[r][c]);
+                }
+            }
+            return m;
+        }
+
+        public int rows() {
+            return rows;
+        }
+
+        public int cols() {
+            return cols;
+        }
+
+        public double get(int row, int col) {
+            return values[row * cols + col];
+        }
+
+        public void set(int row, int col, double value) {
+            values[row * cols + col] = value;
+        }
+
+        public double[] row(int row) {
+            return Arrays.copyOfRange(values, row * cols, (row + 1) * cols);
+        }
+    }
+
+    // A block [rowFrom, rowTo) x [colFrom, colTo) of the matrix, and how to split it.
+    private static final class Block {
+        final int rowFrom, rowTo, colFrom, colTo;
+
+        Block(int rowFrom, int rowTo, int colFrom, int colTo) {
+            this.rowFrom = rowFrom;
+            this.rowTo = rowTo;
+            this.colFrom = colFrom;
+            this.colTo = colTo;
+        }
+
+        boolean isTile() {
+            return (long) (rowTo - rowFrom) * (colTo - colFrom) <= TILE_ELEMENTS;
+        }
+
+        // Split the longer side, so tiles stay roughly square
+        boolean splitsRows() {
+            return rowTo - rowFrom >= colTo - colFrom;
+        }
+
+        int middle() {
+            return splitsRows() ? (rowFrom + rowTo) >>> 1 : (colFrom + colTo) >>> 1;
+        }
+    }
+
+    @SuppressWarnings("serial")   // fork/join tasks are never serialized
+    private static final class MapTask extends RecursiveAction {
+        final Matrix source, target;
+        final DoubleUnaryOperator op;
+        final Block block;
+
+        MapTask(Matrix source, Matrix target, DoubleUnaryOperator op, int rowFrom, int rowTo, int colFrom, int colTo) {
+            this.source = source;
+            this.target = target;
+            this.op = op;
+            this.block = new Block(rowFrom, rowTo, colFrom, colTo);
+        }
+
+        @Override
+        protected void compute() {
+            Block b = block;
+            if (b.isTile()) {
+                for (int r = b.rowFrom; r < b.rowTo; r++) {
+                    int offset = r * source.cols;
+                    for (int i = offset + b.colFrom; i < offset + b.colTo; i++) {
+                        target.values[i] = op.applyAsDouble(source.values[i]);
+                    }
+                }
+                return;
+            }
+            int mid = b.middle();
+            if (b.splitsRows()) {
+                invokeAll(new MapTask(source, target, op, b.rowFrom, mid, b.colFrom, b.colTo),
+                        new MapTask(source, target, op, mid, b.rowTo, b.colFrom, b.colTo));
+            } else {
+                invokeAll(new MapTask(source, target, op, b.rowFrom, b.rowTo, b.colFrom, mid),
+                        new MapTask(source, target, op, b.rowFrom, b.rowTo, mid, b.colTo));
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")   // fork/join tasks are never serialized
+    private static final class CombineTask extends RecursiveAction {
+        final Matrix first, second, target;
+        final DoubleBinaryOperator op;
+        final Block block;
+
+        CombineTask(Matrix first, Matrix second, Matrix target, DoubleBinaryOperator op, int rowFrom, int rowTo, int colFrom, int colTo) {
+            this.first = first;
+            this.second = second;
+            this.target = target;
+            this.op = op;
+            this.block = new Block(rowFrom, rowTo, colFrom, colTo);
+        }
+
+        @Override
+        protected void compute() {
+            Block b = block;
+            if (b.isTile()) {
+                for (int r = b.rowFrom; r < b.rowTo; r++) {
+                    int offset = r * first.cols;
+                    for (int i = offset + b.colFrom; i < offset + b.colTo; i++) {
+                        target.values[i] = op.applyAsDouble(first.values[i], second.values[i]);
+                    }
+                }
+                return;
+            }
+            int mid = b.middle();
+            if (b.splitsRows()) {
+                invokeAll(new CombineTask(first, second, target, op, b.rowFrom, mid, b.colFrom, b.colTo),
+                        new CombineTask(first, second, target, op, mid, b.rowTo, b.colFrom, b.colTo));
+            } else {
+                invokeAll(new CombineTask(first, second, target, op, b.rowFrom, b.rowTo, b.colFrom, mid),
+                        new CombineTask(first, second, target, op, b.rowFrom, b.rowTo, mid, b.colTo));
+            }
+        }
+    }
+
+    // Result: one value per row of the block.
+    @SuppressWarnings("serial")   // fork/join tasks are never serialized
+    private static final class RowReduceTask extends RecursiveTask<double[]> {
+        final Matrix m;
+        final double identity;
+        final DoubleBinaryOperator op;
+        final Block block;
+
+        RowReduceTask(Matrix m, double identity, DoubleBinaryOperator op, int rowFrom, int rowTo, int colFrom, int colTo) {
+            this.m = m;
+            this.identity = identity;
+            this.op = op;
+            this.block = new Block(rowFrom, rowTo, colFrom, colTo);
+        }
+
+        @Override
+        protected double[] compute() {
+            Block b = block;
+            if (b.isTile()) {
+                double[] result = new double[b.rowTo - b.rowFrom];
+                for (int r = b.rowFrom; r < b.rowTo; r++) {
+                    double acc = identity;
+                    int offset = r * m.cols;
+                    for (int i = offset + b.colFrom; i < offset + b.colTo; i++) {
+                        acc = op.applyAsDouble(acc, m.values[i]);
+                    }
+                    result[r - b.rowFrom] = acc;
+                }
+                return result;
+            }
+            int mid = b.middle();
+            if (b.splitsRows()) {
+                RowReduceTask top = new RowReduceTask(m, identity, op, b.rowFrom, mid, b.colFrom, b.colTo);
+                top.fork();
+                double[] bottom = new RowReduceTask(m, identity, op, mid, b.rowTo, b.colFrom, b.colTo).compute();
+                return concat(top.join(), bottom);
+            }
+            RowReduceTask left = new RowReduceTask(m, identity, op, b.rowFrom, b.rowTo, b.colFrom, mid);
+            left.fork();
+            double[] right = new RowReduceTask(m, identity, op, b.rowFrom, b.rowTo, mid, b.colTo).compute();
+            return merge(left.join(), right, op);
+        }
+    }
+
+    // Result: one value per column of the block.
+    @SuppressWarnings("serial")   // fork/join tasks are never serialized
+    private static final class ColumnReduceTask extends RecursiveTask<double[]> {
+        final Matrix m;
+        final double identity;
+        final DoubleBinaryOperator op;
+        final Block block;
+
+        ColumnReduceTask(Matrix m, double identity, DoubleBinaryOperator op, int rowFrom, int rowTo, int colFrom, int colTo) {
+            this.m = m;
+            this.identity = identity;
+            this.op = op;
+            this.block = new Block(rowFrom, rowTo, colFrom, colTo);
+        }
+
+        @Override
+        protected double[] compute() {
+            Block b = block;
+            if (b.isTile()) {
+                // Walk row by row (sequential memory), accumulating into the tile's column partials
+                double[] result = new double[b.colTo - b.colFrom];
+                Arrays.fill(result, identity);
+                for (int r = b.rowFrom; r < b.rowTo; r++) {
+                    int offset = r * m.cols + b.colFrom;
+                    for (int c = 0; c < result.length; c++) {
+                        result[c] = op.applyAsDouble(result[c], m.values[offset + c]);
+                    }
+                }
+                return result;
+            }
+            int mid = b.middle();
+            if (b.splitsRows()) {
+                ColumnReduceTask top = new ColumnReduceTask(m, identity, op, b.rowFrom, mid, b.colFrom, b.colTo);
+                top.fork();
+                double[] bottom = new ColumnReduceTask(m, identity, op, mid, b.rowTo, b.colFrom, b.colTo).compute();
+                return merge(top.join(), bottom, op);
+            }
+            ColumnReduceTask left = new ColumnReduceTask(m, identity, op, b.rowFrom, b.rowTo, b.colFrom, mid);
+            left.fork();
+            double[] right = new ColumnReduceTask(m, identity, op, b.rowFrom, b.rowTo, mid, b.colTo).compute();
+            return concat(left.join(), right);
+        }
+    }
+
+    @SuppressWarnings("serial")   // fork/join tasks are never serialized
+    private static final class TotalReduceTask extends RecursiveTask<Double> {
+        final Matrix m;
+        final double identity;
+        final DoubleBinaryOperator op;
+        final Block block;
+
+        TotalReduceTask(Matrix m, double identity, DoubleBinaryOperator op, int rowFrom, int rowTo, int colFrom, int colTo) {
+            this.m = m;
+            this.identity = identity;
+            this.op = op;
+            this.block = new Block(rowFrom, rowTo, colFrom, colTo);
+        }
+
+        @Override
+        protected Double compute() {
+            Block b = block;
+            if (b.isTile()) {
+                double acc = identity;
+                for (int r = b.rowFrom; r < b.rowTo; r++) {
+                    int offset = r * m.cols;
+                    for (int i = offset + b.colFrom; i < offset + b.colTo; i++) {
+                        acc = op.applyAsDouble(acc, m.values[i]);
+                    }
+                }
+                return acc;
+            }
+            int mid = b.middle();
+            TotalReduceTask first = b.splitsRows()
+                    ? new TotalReduceTask(m, identity, op, b.rowFrom, mid, b.colFrom, b.colTo)
+                    : new TotalReduceTask(m, identity, op, b.rowFrom, b.rowTo, b.colFrom, mid);
+            TotalReduceTask second = b.splitsRows()
+                    ? new TotalReduceTask(m, identity, op, mid, b.rowTo, b.colFrom, b.colTo)
+                    : new TotalReduceTask(m, identity, op, b.rowFrom, b.rowTo, mid, b.colTo);
+            first.fork();
+            double secondResult = second.compute();
+            return op.applyAsDouble(first.join(), secondResult);
+        }
+    }
+
+    // Partial results for the same rows (or columns): merge element by element into the first.
+    private static double[] merge(double[] into, double[] other, DoubleBinaryOperator op) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] = op.applyAsDouble(into[i], other[i]);
+        }
+        return into;
+    }
+
+    // Results for adjacent rows (or columns): place them side by side.
+    private static double[] concat(double[] first, double[] second) {
+        double[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
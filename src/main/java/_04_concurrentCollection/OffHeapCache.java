@@ -0,0 +1,80 @@
+package main.java._04_concurrentCollection;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/*
+===============================================
+CACHE WITH VALUES STORED OFF-HEAP
+===============================================
+
+- Keys stay in a `ConcurrentHashMap`, but the map only holds a `long` HANDLE per key.
+- The `String` value is encoded as UTF-8 and copied into an `OffHeapStore` outside the Java heap.
+- `get()` decodes a NEW `String` from the off-heap bytes on every hit. That copy is short-lived garbage,
+  which the young-generation GC removes cheaply; the long-lived data is never traced by the GC.
+
+TRADE-OFF:
+- Faster, shorter GC pauses and a smaller heap, in exchange for a copy + decode on every read.
+  Worth it for large caches (GBs); not worth it for a few thousand small values.
+
+IMPORTANT NOTES:
+- Replacing or removing a value frees its chunk for reuse.
+- A `get()` that races with a replace of the same key may see the chunk already reused;
+  it then reads the map again instead of returning the wrong value.
+*/
+
+public class OffHeapCache<K> {
+    private final ConcurrentHashMap<K, Long> handles = new ConcurrentHashMap<>();
+    private final OffHeapStore store;
+
+    public OffHeapCache(long maxOffHeapBytes) {
+        this.store = new OffHeapStore(maxOffHeapBytes);
+    }
+
+    public String getIfPresent(K key) {
+        while (true) {
+            Long handle = handles.get(key);
+            if (handle == null) {
+                return null;
+            }
+            byte[] bytes = store.load(handle);
+            if (bytes != null) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            // The chunk was freed by a concurrent put/invalidate: look up the current handle
+        }
+    }
+
+    public String get(K key, Function<? super K, String> loader) {
+        String value = getIfPresent(key);
+        if (value == null) {
+            value = loader.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    public void put(K key, String value) {
+        long handle = store.store(value.getBytes(StandardCharsets.UTF_8));
+        Long old = handles.put(key, handle);
+        if (old != null) {
+            store.free(old);
+        }
+    }
+
+    public void invalidate(K key) {
+        Long old = handles.remove(key);
+        if (old != null) {
+            store.free(old);
+        }
+    }
+
+    public int size() {
+        return handles.size();
+    }
+
+    public long offHeapBytes() {
+        return store.usedBytes();
+    }
+}
@@ -0,0 +1,220 @@
+package main.java._04_concurrentCollection;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+===============================================
+OFF-HEAP SLAB STORE
+===============================================
+
+WHY OFF-HEAP?
+- The garbage collector has to trace every object on the heap. A cache with millions of large
+  `String` values is gigabytes of objects that never die, yet every old-generation GC walks them.
+- A direct `ByteBuffer` is memory OUTSIDE the Java heap: the GC sees one small buffer object,
+  no matter how many bytes it holds. Bytes stored there cost the GC nothing.
+
+SLAB ALLOCATION (the memcached approach):
+- Memory is reserved in large SLABS (1 MiB direct buffers by default), never freed back to the OS.
+- Every slab is cut into equal CHUNKS of one size class: 32, 64, 128, ... bytes.
+- A value goes into the smallest chunk it fits in. At most half of a chunk is wasted.
+- A freed chunk goes onto its size class's FREE LIST and is reused by the next value of that class,
+  so the store stops growing once the working set is stable (no fragmentation, no compaction).
+
+HANDLES:
+- `store()` returns a `long` handle: [slab index | offset in slab | stamp]. The on-heap map keeps
+  only this handle, 8 bytes, instead of the value.
+
+READING FREED MEMORY SAFELY:
+- A reader may hold a handle while another thread frees the chunk and reuses it for a new value.
+- Every chunk starts with a STAMP. `free()` changes the stamp; `load()` checks the stamp before AND
+  after copying the bytes. If it changed, the copy may be mixed with the new value, so `load()`
+  returns null (treated as a cache miss) instead of returning wrong data.
+
+IMPORTANT NOTES:
+- Direct memory is limited by `-XX:MaxDirectMemorySize` (defaults to the heap size), and by `maxBytes`.
+- Values must be serialized to bytes: off-heap memory cannot hold Java objects.
+*/
+
+public class OffHeapStore {
+    public static final int DEFAULT_SLAB_SIZE = 1 << 20;
+
+    private static final int HEADER = 8;             // [int stamp][int length]
+    private static final int MIN_CHUNK = 32;
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final int slabSize;
+    private final ByteBuffer[] slabs;
+    private final int[] slabChunkSize;
+    private final SizeClass[] classes;
+    private final ReentrantLock slabLock = new ReentrantLock();
+    private final AtomicLong usedBytes = new AtomicLong();
+    private volatile int slabCount;
+
+    public OffHeapStore(long maxBytes) {
+        this(maxBytes, DEFAULT_SLAB_SIZE);
+    }
+
+    public OffHeapStore(long maxBytes, int slabSize) {
+        if (Integer.bitCount(slabSize) != 1 || slabSize < MIN_CHUNK) {
+            throw new IllegalArgumentException("slabSize must be a power of two >= " + MIN_CHUNK + ": " + slabSize);
+        }
+        long maxSlabs = Math.max(1, maxBytes / slabSize);
+        if (maxSlabs > 0xFFFF) {
+            throw new IllegalArgumentException("too many slabs: use a larger slabSize");
+        }
+        this.slabSize = slabSize;
+        this.slabs = new ByteBuffer[(int) maxSlabs];
+        this.slabChunkSize = new int[(int) maxSlabs];
+        this.classes = new SizeClass[Integer.numberOfTrailingZeros(slabSize / MIN_CHUNK) + 1];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = new SizeClass(MIN_CHUNK << i);
+        }
+    }
+
+    // Copies the bytes into a free chunk and returns its handle.
+    public long store(byte[] value) {
+        int needed = HEADER + value.length;
+        if (needed > slabSize) {
+            throw new IllegalArgumentException("value of " + value.length + " bytes does not fit in a slab");
+        }
+        SizeClass sizeClass = classes[classIndex(needed)];
+        long chunk = sizeClass.allocate();
+        int slab = (int) (chunk >>> 32);
+        int offset = (int) chunk;
+        ByteBuffer buffer = slabs[slab];
+        int stamp = (int) INT.getVolatile(buffer, offset) & 0xFFFF;
+        buffer.putInt(offset + 4, value.length);
+        buffer.put(offset + HEADER, value);
+        usedBytes.addAndGet(sizeClass.chunkSize);
+        return ((long) slab << 48) | ((long) offset << 16) | stamp;
+    }
+
+    // Returns a copy of the stored bytes, or null if the chunk was freed in the meantime.
+    public byte[] load(long handle) {
+        ByteBuffer buffer = slabs[slabOf(handle)];
+        int offset = offsetOf(handle);
+        int stamp = stampOf(handle);
+        if (((int) INT.getVolatile(buffer, offset) & 0xFFFF) != stamp) {
+            return null;
+        }
+        int length = buffer.getInt(offset + 4);
+        if (length < 0 || length > slabChunkSize[slabOf(handle)] - HEADER) {
+            return null;   // torn read of a chunk being reused
+        }
+        byte[] value = new byte[length];
+        buffer.get(offset + HEADER, value);
+        VarHandle.acquireFence();
+        if (((int) INT.getVolatile(buffer, offset) & 0xFFFF) != stamp) {
+            return null;
+        }
+        return value;
+    }
+
+    // Returns the chunk to its free list. Every handle to it becomes invalid.
+    public void free(long handle) {
+        int slab = slabOf(handle);
+        int offset = offsetOf(handle);
+        ByteBuffer buffer = slabs[slab];
+        int stamp = stampOf(handle);
+        if (!INT.compareAndSet(buffer, offset, stamp, (stamp + 1) & 0xFFFF)) {
+            return;   // already freed
+        }
+        int chunkSize = slabChunkSize[slab];
+        usedBytes.addAndGet(-chunkSize);
+        classes[classIndex(chunkSize)].release(((long) slab << 32) | offset);
+    }
+
+    // Bytes held by live values, including unused space at the end of their chunks.
+    public long usedBytes() {
+        return usedBytes.get();
+    }
+
+    // Bytes reserved from the operating system.
+    public long reservedBytes() {
+        return (long) slabCount * slabSize;
+    }
+
+    private int classIndex(int bytes) {
+        int chunk = Math.max(MIN_CHUNK, Integer.highestOneBit(bytes - 1) << 1);
+        return Integer.numberOfTrailingZeros(chunk / MIN_CHUNK);
+    }
+
+    // A new slab is handed to one size class for good.
+    private int newSlab(int chunkSize) {
+        slabLock.lock();
+        try {
+            int index = slabCount;
+            if (index == slabs.length) {
+                throw new IllegalStateException("off-heap store is full (" + reservedBytes() + " bytes)");
+            }
+            slabs[index] = ByteBuffer.allocateDirect(slabSize).order(ByteOrder.nativeOrder());
+            slabChunkSize[index] = chunkSize;
+            slabCount = index + 1;   // volatile write publishes the slab
+            return index;
+        } finally {
+            slabLock.unlock();
+        }
+    }
+
+    private static int slabOf(long handle) {
+        return (int) (handle >>> 48);
+    }
+
+    private static int offsetOf(long handle) {
+        return (int) (handle >>> 16);
+    }
+
+    private static int stampOf(long handle) {
+        return (int) handle & 0xFFFF;
+    }
+
+    // Free list and current slab of one chunk size. Chunks are encoded as (slab << 32 | offset).
+    private final class SizeClass {
+        final int chunkSize;
+        final ReentrantLock lock = new ReentrantLock();
+        long[] free = new long[16];
+        int freeCount;
+        int slab = -1;
+        int nextOffset;
+
+        SizeClass(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        long allocate() {
+            lock.lock();
+            try {
+                if (freeCount > 0) {
+                    return free[--freeCount];
+                }
+                if (slab < 0 || nextOffset + chunkSize > slabSize) {
+                    slab = newSlab(chunkSize);
+                    nextOffset = 0;
+                }
+                long chunk = ((long) slab << 32) | nextOffset;
+                nextOffset += chunkSize;
+                return chunk;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release(long chunk) {
+            lock.lock();
+            try {
+                if (freeCount == free.length) {
+                    free = Arrays.copyOf(free, free.length * 2);
+                }
+                free[freeCount++] = chunk;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package main.java._04_concurrentCollection;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/*
+===============================================
+PERSISTENT CACHE: SNAPSHOT AND LAZY RESTORE
+===============================================
+
+THE PROBLEM:
+- After a restart the cache is empty. Every key pays the slow `compute()` again
+  ("cold start"), and the backend gets the full load at once.
+
+THE IDEA:
+- Write the cache to a file now and then, and read it back at start-up.
+
+FILE FORMAT (compact, append-only):
+    header: [int magic][int version]
+    record: [int keyLength][int valueLength][key UTF-8][value UTF-8][int CRC32]
+- `valueLength == -1` is a "tombstone": the key was removed.
+- A later record for the same key replaces an earlier one.
+- The CRC detects a record that was only half written when the process died; restore stops there
+  and cuts the file off before it.
+
+INCREMENTAL SNAPSHOTS (readers and writers never wait):
+- Every `put`/`invalidate` adds the key to a DIRTY set. `snapshot()` appends only the dirty keys,
+  reading their CURRENT value from the map. Nothing is locked: a key changed during the snapshot is
+  simply dirty again and goes into the next one.
+- When the file holds many more records than live keys, the next snapshot rewrites it in full
+  (compaction) into a temporary file and atomically renames it over the old one.
+
+LAZY RESTORE:
+- `open()` memory-maps the file and returns IMMEDIATELY. A background thread scans the records and
+  builds an INDEX: key → position of its latest value in the mapped file. Values are not decoded yet.
+- Once the index is complete, a miss checks the index, decodes the value straight from the mapped
+  file, and moves it into the map.
+- A miss while the index is still being built WAITS for the index instead of calling the loader:
+  the scan is one sequential pass over mapped memory (tens of milliseconds per 100,000 records),
+  far cheaper than recomputing the value. Keys already in the map are served without waiting.
+- The operating system reads pages of the file only when they are touched.
+- A file that is not a cache snapshot (wrong magic number or version) is emptied and restarted with
+  a fresh header, so later snapshots are readable again.
+*/
+
+public class PersistentCache implements AutoCloseable {
+    private static final int MAGIC = 0x43534E50;   // "CSNP"
+    private static final int VERSION = 1;
+    private static final int HEADER = 8;
+    private static final int TOMBSTONE = -1;
+
+    private final ConcurrentHashMap<String, String> map = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> index = new ConcurrentHashMap<>();
+    private final Set<String> removedDuringRestore = ConcurrentHashMap.newKeySet();
+    private final Object snapshotLock = new Object();
+    private final Path file;
+    private final Thread indexer;
+    private volatile MappedByteBuffer restored;
+    private volatile boolean indexed;
+    private ScheduledExecutorService scheduler;
+    private FileChannel out;
+    private long recordsInFile;
+
+    private PersistentCache(Path file) {
+        this.file = file;
+        this.indexer = new Thread(this::buildIndex, "snapshot-indexer");
+        this.indexer.setDaemon(true);
+    }
+
+    // Opens (or creates) the snapshot file. Restoring runs in the background.
+    public static PersistentCache open(Path file) throws IOException {
+        PersistentCache cache = new PersistentCache(file);
+        if (Files.size(createIfMissing(file)) > HEADER) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                cache.restored = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        } else {
+            cache.indexed = true;
+        }
+        cache.out = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (cache.indexed && !hasHeader(ByteBuffer.wrap(Files.readAllBytes(file)))) {
+            cache.resetFile();   // too short to hold records, and not even a valid header
+        }
+        cache.indexer.start();
+        return cache;
+    }
+
+    public String getIfPresent(String key) {
+        String value = map.get(key);
+        if (value == null && !indexed) {
+            awaitIndex();   // the key may be in the file: cheaper to wait than to recompute it
+        }
+        if (value == null && indexed) {
+            // Move the value from the file into the map. Not dirty: it is already in the file.
+            index.computeIfPresent(key, (k, position) -> {
+                map.putIfAbsent(k, readValue(restored, position));
+                return null;
+            });
+            value = map.get(key);
+        }
+        return value;
+    }
+
+    public String get(String key, Function<String, String> loader) {
+        String value = getIfPresent(key);
+        if (value == null) {
+            value = loader.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    public void put(String key, String value) {
+        if (value == null) {
+            throw new NullPointerException("null values are not allowed");
+        }
+        map.put(key, value);
+        index.remove(key);
+        dirty.add(key);
+    }
+
+    public void invalidate(String key) {
+        if (!indexed) {
+            removedDuringRestore.add(key);
+        }
+        index.remove(key);   // before the map, so a concurrent read cannot move it back
+        map.remove(key);
+        dirty.add(key);
+    }
+
+    public int size() {
+        return map.size() + index.size();
+    }
+
+    public boolean isRestoreComplete() {
+        return indexed;
+    }
+
+    // Waits until the background restore has finished (mainly for tests and benchmarks).
+    public void awaitRestore() throws InterruptedException {
+        indexer.join();
+    }
+
+    // Appends every key changed since the last snapshot. Returns the number of records written.
+    public int snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            if (!indexed) {
+                return 0;   // restore still scanning the file (and may cut off a torn end): write later
+            }
+            if (recordsInFile > 2L * size() + 1024) {
+                return compact();
+            }
+            RecordWriter writer = new RecordWriter(out);
+            for (String key : dirty) {
+                dirty.remove(key);
+                writer.write(key, map.get(key));   // null → tombstone
+            }
+            writer.flush();
+            out.force(false);
+            recordsInFile += writer.count;
+            return writer.count;
+        }
+    }
+
+    // Takes incremental snapshots in the background.
+    public void snapshotEvery(long period, TimeUnit unit) {
+        synchronized (snapshotLock) {
+            if (scheduler == null) {
+                scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "snapshot-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                scheduler.scheduleAtFixedRate(() -> {
+                    try {
+                        snapshot();
+                    } catch (IOException e) {
+                        System.err.println("Snapshot of " + file + " failed: " + e);
+                    }
+                }, period, period, unit);
+            }
+        }
+    }
+
+    // Stops background snapshots and writes a final one.
+    @Override
+    public void close() throws IOException {
+        synchronized (snapshotLock) {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+            }
+        }
+        awaitIndex();
+        snapshot();
+        out.close();
+    }
+
+    // For callers that cannot handle the checked exception (e.g. a shutdown hook).
+    public void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Caller holds snapshotLock. Writes all live entries to a new file and swaps it in.
+    private int compact() throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        int written;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.write(header());
+            dirty.clear();   // everything live is written below; later changes mark keys dirty again
+            RecordWriter writer = new RecordWriter(channel);
+            for (Map.Entry<String, String> entry : map.entrySet()) {
+                writer.write(entry.getKey(), entry.getValue());
+            }
+            for (Map.Entry<String, Integer> entry : index.entrySet()) {
+                writer.write(entry.getKey(), readValue(restored, entry.getValue()));
+            }
+            writer.flush();
+            channel.force(false);
+            written = writer.count;
+        }
+        out.close();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        out = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        recordsInFile = written;
+        return written;   // the old mapping stays readable until it is garbage collected
+    }
+
+    // Scans the mapped file once: key → position of its latest value.
+    private void buildIndex() {
+        MappedByteBuffer buffer = restored;
+        if (buffer == null) {
+            return;
+        }
+        if (!hasHeader(buffer)) {
+            System.err.println("Ignoring " + file + ": not a cache snapshot, starting a new one");
+            synchronized (snapshotLock) {
+                restored = null;
+                resetFile();
+            }
+        } else {
+            long records = 0;
+            int position = HEADER;
+            CRC32 crc = new CRC32();
+            while (position + 8 <= buffer.limit()) {
+                int keyLength = buffer.getInt(position);
+                int valueLength = buffer.getInt(position + 4);
+                int end = position + 8 + keyLength + Math.max(0, valueLength) + 4;
+                if (keyLength < 0 || valueLength < TOMBSTONE || end > buffer.limit() || end < 0) {
+                    break;   // torn record at the end of the file
+                }
+                crc.reset();
+                crc.update(buffer.slice(position + 8, keyLength + Math.max(0, valueLength)));
+                if ((int) crc.getValue() != buffer.getInt(end - 4)) {
+                    break;
+                }
+                String key = decode(buffer, position + 8, keyLength);
+                if (valueLength == TOMBSTONE) {
+                    index.remove(key);
+                } else if (!map.containsKey(key)) {
+                    index.put(key, position);
+                }
+                records++;
+                position = end;
+            }
+            synchronized (snapshotLock) {
+                recordsInFile = records;
+                truncate(position);   // appends must not land behind a torn record
+            }
+        }
+        index.keySet().removeAll(removedDuringRestore);
+        index.keySet().removeAll(map.keySet());
+        removedDuringRestore.clear();
+        indexed = true;
+    }
+
+    private void awaitIndex() {
+        try {
+            awaitRestore();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();   // give up waiting: the caller treats it as a miss
+        }
+    }
+
+    // Caller holds snapshotLock (or owns the cache exclusively). Empties the file down to a fresh header.
+    private void resetFile() {
+        try {
+            out.truncate(0);
+            ByteBuffer header = header();
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            out.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void truncate(long size) {
+        try {
+            out.truncate(size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String readValue(ByteBuffer buffer, int position) {
+        int keyLength = buffer.getInt(position);
+        int valueLength = buffer.getInt(position + 4);
+        return decode(buffer, position + 8 + keyLength, valueLength);
+    }
+
+    private static String decode(ByteBuffer buffer, int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Path createIfMissing(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                channel.write(header());
+            }
+        }
+        return file;
+    }
+
+    private static boolean hasHeader(ByteBuffer buffer) {
+        return buffer.limit() >= HEADER && buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION;
+    }
+
+    private static ByteBuffer header() {
+        return ByteBuffer.allocate(HEADER).putInt(MAGIC).putInt(VERSION).flip();
+    }
+
+    // Batches records into one buffer so a snapshot is a few large writes, not one per key.
+    private static final class RecordWriter {
+        private final FileChannel channel;
+        private final CRC32 crc = new CRC32();
+        private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        int count;
+
+        RecordWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void write(String key, String value) throws IOException {
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            byte[] valueBytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+            int size = 8 + keyBytes.length + valueBytes.length + 4;
+            if (buffer.remaining() < size) {
+                flush();
+                if (buffer.capacity() < size) {
+                    buffer = ByteBuffer.allocate(size);
+                }
+            }
+            crc.reset();
+            crc.update(keyBytes);
+            crc.update(valueBytes);
+            buffer.putInt(keyBytes.length)
+                    .putInt(value == null ? TOMBSTONE : valueBytes.length)
+                    .put(keyBytes)
+                    .put(valueBytes)
+                    .putInt((int) crc.getValue());
+            count++;
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
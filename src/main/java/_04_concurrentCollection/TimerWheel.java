@@ -0,0 +1,169 @@
+package main.java._04_concurrentCollection;
+
+/*
+===============================================
+HIERARCHICAL TIMER WHEEL
+===============================================
+
+THE PROBLEM:
+- A cache with expiry must find the entries whose time is up.
+- Scanning every entry is O(n): with a million entries, that is a million checks on every cleanup.
+- A priority queue (heap) sorted by deadline costs O(log n) per insert and remove.
+
+THE IDEA: A CLOCK FACE
+- Picture a clock with 64 slots ("buckets"), each covering ~16 ms. A timer due in 40 ms goes into
+  the bucket 2-3 slots ahead of the current time.
+- When time moves forward, only the buckets that time passed over are looked at.
+- Adding and removing a timer is O(1): it is a linked-list insert/remove in one bucket.
+
+WHY HIERARCHICAL?
+- One wheel of 16 ms buckets would need millions of buckets for timers hours away.
+- So there are several wheels, like the second, minute and hour hands of a clock:
+
+    level 0: 64 buckets of ~16.8 ms  (covers ~1 s)
+    level 1: 64 buckets of ~1.07 s   (covers ~69 s)
+    level 2: 64 buckets of ~1.15 min (covers ~73 min)
+    level 3: 32 buckets of ~1.22 h   (covers ~39 h)
+    level 4:  1 bucket for everything further away
+
+- A timer is placed on the coarsest level it needs. When that bucket's time comes, its timers are
+  re-inserted ("cascaded") into a finer level, until they land on level 0 and fire.
+- Timers fire up to one level-0 bucket (~16 ms) late, never early: the owner decides what "expired" means.
+
+IMPORTANT NOTES:
+- Not thread-safe: the owner (e.g. `ExpiringCache`) calls it while holding its lock.
+- `advance()` lets the owner decide, for every due timer, whether it really expired or should be
+  rescheduled to a later time (useful when the deadline moved, e.g. the entry was read again).
+*/
+
+public final class TimerWheel<T extends TimerWheel.Timer> {
+    private static final int[] BUCKETS = {64, 64, 64, 32, 1};
+    private static final int[] SHIFT = {24, 30, 36, 42, 48};   // bucket width = 2^SHIFT nanoseconds
+
+    // A timer is an object with a deadline that can be linked into one bucket at a time.
+    public abstract static class Timer {
+        long time;
+        Timer prev;
+        Timer next;
+
+        public long deadline() {
+            return time;
+        }
+
+        boolean isScheduled() {
+            return prev != null;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Expirer<T> {
+        // Called for a due timer. Return a new deadline to reschedule it, or a negative value to drop it.
+        long expire(T timer, long now);
+    }
+
+    private final Timer[][] wheel;
+    private long nanos;
+    private int size;
+
+    public TimerWheel(long now) {
+        this.nanos = now;
+        this.wheel = new Timer[BUCKETS.length][];
+        for (int level = 0; level < BUCKETS.length; level++) {
+            wheel[level] = new Timer[BUCKETS[level]];
+            for (int bucket = 0; bucket < BUCKETS[level]; bucket++) {
+                Sentinel sentinel = new Sentinel();
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                wheel[level][bucket] = sentinel;
+            }
+        }
+    }
+
+    // Adds the timer, or moves it if it is already scheduled.
+    public void schedule(T timer, long deadline) {
+        if (timer.isScheduled()) {
+            unlink(timer);
+        }
+        timer.time = deadline;
+        link(findBucket(deadline), timer);
+    }
+
+    public void deschedule(T timer) {
+        if (timer.isScheduled()) {
+            unlink(timer);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Moves the wheel forward to `now` and hands every due timer to the expirer.
+    @SuppressWarnings("unchecked")
+    public void advance(long now, Expirer<T> expirer) {
+        long previous = nanos;
+        nanos = now;
+        for (int level = 0; level < SHIFT.length; level++) {
+            long previousTicks = previous >>> SHIFT[level];
+            long currentTicks = now >>> SHIFT[level];
+            if (currentTicks - previousTicks <= 0) {
+                break;   // this level's hand did not move, so no coarser hand did either
+            }
+            int buckets = BUCKETS[level];
+            long steps = Math.min(currentTicks - previousTicks + 1, buckets);
+            for (long i = 0; i < steps; i++) {
+                Timer sentinel = wheel[level][(int) ((previousTicks + i) & (buckets - 1))];
+                // Detach the whole bucket first: timers may be re-inserted into this same bucket
+                Timer timer = sentinel.next;
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                while (timer != sentinel) {
+                    Timer next = timer.next;
+                    timer.prev = null;
+                    timer.next = null;
+                    size--;
+                    if (timer.time - now <= 0) {
+                        long deadline = expirer.expire((T) timer, now);
+                        if (deadline >= 0) {
+                            schedule((T) timer, deadline);
+                        }
+                    } else {
+                        schedule((T) timer, timer.time);   // cascade to a finer level
+                    }
+                    timer = next;
+                }
+            }
+        }
+    }
+
+    private Timer findBucket(long time) {
+        long duration = Math.max(0, time - nanos);
+        int last = BUCKETS.length - 1;
+        for (int level = 0; level < last; level++) {
+            if (duration < (1L << SHIFT[level + 1])) {
+                int index = (int) ((time >>> SHIFT[level]) & (BUCKETS[level] - 1));
+                return wheel[level][index];
+            }
+        }
+        return wheel[last][0];
+    }
+
+    private void link(Timer sentinel, Timer timer) {
+        timer.prev = sentinel.prev;
+        timer.next = sentinel;
+        sentinel.prev.next = timer;
+        sentinel.prev = timer;
+        size++;
+    }
+
+    private void unlink(Timer timer) {
+        timer.prev.next = timer.next;
+        timer.next.prev = timer.prev;
+        timer.prev = null;
+        timer.next = null;
+        size--;
+    }
+
+    private static final class Sentinel extends Timer {
+    }
+}
@@ -0,0 +1,192 @@
+package main.java._04_concurrentCollection;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+===============================================
+WAIT STRATEGIES: WHAT SHOULD A CONSUMER DO WHEN THE QUEUE IS EMPTY?
+===============================================
+
+THE TRADE-OFF:
+- Waiting CHEAPLY (sleep/block) frees the CPU, but waking up again takes time (microseconds).
+- Waiting FAST (spinning) notices a new item within nanoseconds, but burns a whole core doing nothing.
+- There is no best answer; it depends on how many cores you have and how much latency matters.
+
+THE STRATEGIES:
+1. **blocking()** → `queue.take()`.
+   The thread is parked by the queue and woken by the producer's `put()`.
+   CPU: ~0 while idle. Latency: highest (the OS has to reschedule the thread).
+
+2. **sleeping(nanos)** → `poll()`; if empty, spin a little, then yield a little, then park for `nanos`.
+   CPU: low. Latency: up to `nanos` plus the wake-up time. Nobody has to wake it up.
+
+3. **yielding()** → `poll()`; if empty, `Thread.yield()` and try again.
+   Gives the core to other threads if any want it, otherwise keeps polling.
+   CPU: one full core while idle. Latency: low.
+
+4. **busySpin()** → `poll()`; if empty, `Thread.onSpinWait()` and try again.
+   CPU: one full core, always. Latency: lowest. Only sensible with more cores than busy threads.
+   This is what the original `_03_BlockingQueueDemo` consumer did (without the hint), printing all the way.
+
+5. **spinThenPark(spins)** → `poll()` up to `spins` times, then fall back to `take()`.
+   Catches items that arrive very soon after the previous one without a wake-up,
+   but does not burn a core when the queue stays empty for long.
+
+KEY TAKEAWAY:
+- Start with `blocking()`. Move towards spinning only if measured latency matters more than CPU.
+*/
+
+public interface WaitStrategy {
+
+    // Waits (in the strategy's way) until the queue has an item, then removes and returns it.
+    <E> E take(BlockingQueue<E> queue) throws InterruptedException;
+
+    static WaitStrategy blocking() {
+        return new Blocking();
+    }
+
+    static WaitStrategy sleeping(long parkNanos) {
+        return new Sleeping(parkNanos);
+    }
+
+    static WaitStrategy yielding() {
+        return new Yielding();
+    }
+
+    static WaitStrategy busySpin() {
+        return new BusySpin();
+    }
+
+    static WaitStrategy spinThenPark(int spins) {
+        return new SpinThenPark(spins);
+    }
+
+    // Parses "blocking", "sleeping", "yielding", "spin" or "spin-park".
+    static WaitStrategy named(String name) {
+        switch (name) {
+            case "blocking":
+                return blocking();
+            case "sleeping":
+                return sleeping(100_000);
+            case "yielding":
+                return yielding();
+            case "spin":
+                return busySpin();
+            case "spin-park":
+                return spinThenPark(10_000);
+            default:
+                throw new IllegalArgumentException("Unknown wait strategy: " + name);
+        }
+    }
+
+    final class Blocking implements WaitStrategy {
+        @Override
+        public <E> E take(BlockingQueue<E> queue) throws InterruptedException {
+            return queue.take();
+        }
+
+        @Override
+        public String toString() {
+            return "blocking";
+        }
+    }
+
+    final class Sleeping implements WaitStrategy {
+        private static final int SPIN_TRIES = 100;
+        private static final int YIELD_TRIES = 100;
+        private final long parkNanos;
+
+        Sleeping(long parkNanos) {
+            this.parkNanos = parkNanos;
+        }
+
+        @Override
+        public <E> E take(BlockingQueue<E> queue) throws InterruptedException {
+            int tries = 0;
+            E item;
+            while ((item = queue.poll()) == null) {
+                if (tries < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else if (tries < SPIN_TRIES + YIELD_TRIES) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(parkNanos);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+                tries++;
+            }
+            return item;
+        }
+
+        @Override
+        public String toString() {
+            return "sleeping(" + parkNanos / 1000 + "us)";
+        }
+    }
+
+    final class Yielding implements WaitStrategy {
+        @Override
+        public <E> E take(BlockingQueue<E> queue) throws InterruptedException {
+            E item;
+            while ((item = queue.poll()) == null) {
+                Thread.yield();
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            return item;
+        }
+
+        @Override
+        public String toString() {
+            return "yielding";
+        }
+    }
+
+    final class BusySpin implements WaitStrategy {
+        @Override
+        public <E> E take(BlockingQueue<E> queue) throws InterruptedException {
+            E item;
+            while ((item = queue.poll()) == null) {
+                Thread.onSpinWait();
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            return item;
+        }
+
+        @Override
+        public String toString() {
+            return "busy-spin";
+        }
+    }
+
+    final class SpinThenPark implements WaitStrategy {
+        private final int spins;
+
+        SpinThenPark(int spins) {
+            this.spins = spins;
+        }
+
+        @Override
+        public <E> E take(BlockingQueue<E> queue) throws InterruptedException {
+            for (int i = 0; i < spins; i++) {
+                E item = queue.poll();
+                if (item != null) {
+                    return item;
+                }
+                Thread.onSpinWait();
+            }
+            return queue.take();
+        }
+
+        @Override
+        public String toString() {
+            return "spin(" + spins + ")-then-park";
+        }
+    }
+}
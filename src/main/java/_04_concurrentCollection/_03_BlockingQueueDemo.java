@@ -81,6 +81,12 @@ REAL-WORLD ANALOGY:
   - If the counter is full, the chef must wait until the waiter picks up a dish.
   - If the counter is empty, the waiter must wait until the chef prepares a dish.
 
+WAITING FOR ITEMS:
+- The consumer below calls `poll(0, TimeUnit.SECONDS)` in a loop: it never waits, so it keeps a core
+  busy printing "Queue is empty" until the next item arrives.
+- Run with a wait strategy name (`blocking`, `sleeping`, `yielding`, `spin`, `spin-park`) to let the
+  consumer wait using `WaitStrategy` instead. See `WaitStrategy.java` for the trade-offs.
+
 KEY TAKEAWAY:
 - Use `BlockingQueue` for thread-safe communication between producers and consumers.
 - `ArrayBlockingQueue` is ideal for fixed-capacity scenarios where you want to limit the queue size.
@@ -89,6 +95,7 @@ KEY TAKEAWAY:
 public class _03_BlockingQueueDemo {
     public static void main(String[] args) {
         BlockingQueue<Integer> queue = new ArrayBlockingQueue<>(3);
+        WaitStrategy waitStrategy = args.length > 0 ? WaitStrategy.named(args[0]) : null;
 
         new Thread(() -> {
             for (int i = 1; i <= 5; i++) {
@@ -104,6 +111,10 @@ public class _03_BlockingQueueDemo {
         new Thread(() -> {
             while (true) {
                 try {
+                    if (waitStrategy != null) {
+                        System.out.println("Consuming " + waitStrategy.take(queue));
+                        continue;
+                    }
                     Integer value = queue.poll(0, TimeUnit.SECONDS);
                     if (value != null) {
                         System.out.println("Consuming " + value);
@@ -1,7 +1,12 @@
 package main.java._04_concurrentCollection;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 /*
 ===============================================
@@ -78,6 +83,23 @@ EXAMPLE USE CASES:
 - Storing shared configuration or state in a concurrent environment.
 - Implementing thread-safe counters or aggregators.
 
+WATCH OUT: CHECK-THEN-ACT IS NOT ATOMIC
+- `getCachedValue` below does `get` → `compute` → `put`. Every single call is thread-safe,
+  but the sequence is not: two threads that miss the same key at the same time both run `compute()`.
+
+CACHE MODES:
+- Run with a mode name as the first argument to use a different cache:
+  - `single-flight` → `LoadingCache`: concurrent misses on one key share a single computation.
+  - `bounded` → `BoundedCache` holding at most 5 entries (W-TinyLFU eviction). With 10 keys,
+    some keys get evicted and computed again.
+  - `expiring` → `ExpiringCache`: entries expire 3 seconds after they were written, and keys read
+    more than 2 seconds after their last load are reloaded in the background (refresh-ahead).
+  - `off-heap` → `OffHeapCache`: values are stored as UTF-8 bytes in direct-memory slabs
+    (`OffHeapStore`); the map only holds a `long` handle per key, so the GC never traces the values.
+  - `persistent` → `PersistentCache`: snapshots the cache to a file in the temp directory every second
+    and when the program ends. Run the demo twice: the second run finds the values in the file
+    instead of computing them.
+
 KEY TAKEAWAY:
 - Use `ConcurrentHashMap` for high-performance, thread-safe access to a shared map.
 - It is optimized for concurrent reads and writes, making it ideal for multi-threaded applications.
@@ -85,14 +107,24 @@ KEY TAKEAWAY:
 
 public class _04_ConcurrentHashMapDemo {
     private static final Map<String, String> cache = new ConcurrentHashMap<>();
+    private static final LoadingCache<String, String> loadingCache = new LoadingCache<>();
+    private static final BoundedCache<String, String> boundedCache = new BoundedCache<>(5);
+    private static final ExpiringCache<String, String> expiringCache = new ExpiringCache<>(
+            ExpiringCache.Expiry.AFTER_WRITE, 3, 2, TimeUnit.SECONDS, ForkJoinPool.commonPool());
+    private static final OffHeapCache<String> offHeapCache = new OffHeapCache<>(16 << 20);
+    private static PersistentCache persistentCache;
 
     public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0] : "plain";
+        if (mode.equals("persistent")) {
+            persistentCache = openPersistentCache();
+        }
         for(int i=0; i<10; i++) {
             int threadNum = i;
             new Thread(() -> {
                 String key = "key @ " + threadNum;
                 for (int j = 0; j < 5; j++) {
-                    String value = getCachedValue(key);
+                    String value = lookup(mode, key);
                     System.out.println(Thread.currentThread().getName() + " - " + key + ": " + value);
                 }
             }).start();
@@ -109,6 +141,41 @@ public class _04_ConcurrentHashMapDemo {
         return "Value for " + key;
     }
 
+    public static String lookup(String mode, String key) {
+        switch (mode) {
+            case "plain":
+                return getCachedValue(key);
+            case "single-flight":
+                return loadingCache.get(key, _04_ConcurrentHashMapDemo::compute);
+            case "bounded":
+                return boundedCache.get(key, _04_ConcurrentHashMapDemo::compute);
+            case "expiring":
+                return expiringCache.get(key, _04_ConcurrentHashMapDemo::compute);
+            case "off-heap":
+                return offHeapCache.get(key, _04_ConcurrentHashMapDemo::compute);
+            case "persistent":
+                return persistentCache.get(key, _04_ConcurrentHashMapDemo::compute);
+            default:
+                throw new IllegalArgumentException("Unknown cache mode: " + mode);
+        }
+    }
+
+    private static PersistentCache openPersistentCache() {
+        Path file = Path.of(System.getProperty("java.io.tmpdir"), "concurrent-hash-map-demo.snapshot");
+        try {
+            PersistentCache opened = PersistentCache.open(file);
+            opened.snapshotEvery(1, TimeUnit.SECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(opened::closeQuietly));   // final snapshot
+            opened.awaitRestore();   // a small file: wait, so the demo shows the restored values
+            return opened;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
     public static String getCachedValue(String key) {
         String value = cache.get(key);
         if (value == null) {
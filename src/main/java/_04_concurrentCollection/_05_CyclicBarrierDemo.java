@@ -96,6 +96,17 @@ import java.util.concurrent.CyclicBarrier;
  *     they continue together →
  *     door resets for next meeting.
  *
+ *
+ * 9) Large Matrices
+ * ------------------------------------------------
+ * One new Thread per row is fine for 3 rows, not for
+ * 50,000. Run with "forkjoin" as the first argument:
+ * `MatrixEngine` does the same two phases with
+ * fork/join tasks over cache-sized tiles on one
+ * reused ForkJoinPool, first on this matrix, then on
+ * a 20,000 x 1,000 one. No barrier is needed: each
+ * operation returns when all of its tiles are done.
+ *
  * ===============================================
  */
 
@@ -109,6 +120,10 @@ public class _05_CyclicBarrierDemo {
     public static final int[] columnSums = new int[3];
 
     public static void main(String[] args) throws InterruptedException {
+        if (args.length > 0 && args[0].equals("forkjoin")) {
+            runForkJoin();
+            return;
+        }
 
         // Phase 1 completion signal (rows squared)
         CountDownLatch squaredDone = new CountDownLatch(matrix.length);
@@ -136,6 +151,28 @@ public class _05_CyclicBarrierDemo {
         }
     }
 
+    private static void runForkJoin() {
+        try (MatrixEngine engine = new MatrixEngine()) {
+            // Phase 1 (square every value), then phase 2 (column sums) and the total
+            MatrixEngine.Matrix squared = engine.map(MatrixEngine.Matrix.of(matrix), x -> x * x);
+            System.out.println("Column sums: " + Arrays.toString(engine.reduceColumns(squared, 0, Double::sum)));
+            System.out.println("Final total (sum of column sums): " + engine.reduce(squared, 0, Double::sum));
+
+            MatrixEngine.Matrix large = new MatrixEngine.Matrix(20_000, 1_000);
+            for (int r = 0; r < large.rows(); r++) {
+                for (int c = 0; c < large.cols(); c++) {
+                    large.set(r, c, (r + c) % 10);
+                }
+            }
+            long start = System.nanoTime();
+            engine.mapInPlace(large, x -> x * x);
+            double[] largeColumnSums = engine.reduceColumns(large, 0, Double::sum);
+            double largeTotal = engine.reduce(large, 0, Double::sum);
+            System.out.println("20,000 x 1,000: first column sum " + largeColumnSums[0] + ", total " + largeTotal
+                    + " in " + (System.nanoTime() - start) / 1_000_000 + " ms on " + engine.parallelism() + " threads");
+        }
+    }
+
     public static void squareRow(int row, CountDownLatch squaredDone) {
         try {
             for (int i = 0; i < matrix[row].length; i++) {
@@ -0,0 +1,220 @@
+package main.java._05_benchmarking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.function.IntFunction;
+
+/*
+===============================================
+A SMALL MICRO-BENCHMARK HARNESS
+===============================================
+
+WHY NOT JUST System.currentTimeMillis()?
+- A single `end - start` around one run measures the JIT compiler warming up, thread start-up,
+  and whatever else the machine was doing: not the code you care about.
+- It gives ONE number. Under contention the average hides the slow operations (the "tail").
+
+WHAT THIS HARNESS DOES:
+1. **Warm-up phase**: every thread runs the operation for a while so the JIT compiles it.
+   Results from this phase are thrown away.
+2. **Measurement phase**: every thread runs the operation in a tight loop and counts operations.
+   All threads start together (CyclicBarrier) so they really contend with each other.
+3. **Latency sampling**: every 64th operation is timed with `System.nanoTime()`.
+   Timing every call would cost more than a counter increment itself, so we sample.
+4. **Report**: throughput (operations per second, all threads together) and the
+   p50 / p99 / p99.9 latency of the sampled operations.
+
+IMPORTANT NOTES:
+- This is a teaching harness, not JMH. The repository has no build file, so it cannot pull in
+  JMH; the structure (warm-up, measurement, per-thread state, barrier start) follows what JMH does.
+- If you have JMH available, the `Operation`s written for this harness translate one-to-one
+  into `@Benchmark` methods with `@Threads(n)`.
+- `blackhole` exists for the same reason as JMH's Blackhole: if a result is never used,
+  the JIT is allowed to delete the code that produced it.
+*/
+
+public final class BenchmarkHarness {
+    private static final int SAMPLE_MASK = 63;            // time 1 out of every 64 operations
+    private static final int MAX_SAMPLES_PER_THREAD = 1 << 20;
+
+    public static final long DEFAULT_WARMUP_MILLIS = 1000;
+    public static final long DEFAULT_MEASURE_MILLIS = 2000;
+
+    private static volatile long sink;
+
+    private BenchmarkHarness() {
+    }
+
+    // One unit of work. Receives the index of the calling thread (0..threads-1).
+    @FunctionalInterface
+    public interface Operation {
+        void run(int threadIndex) throws Exception;
+    }
+
+    public static final class Result {
+        public final String name;
+        public final int threads;
+        public final long operations;
+        public final double opsPerSecond;
+        public final long p50Nanos;
+        public final long p99Nanos;
+        public final long p999Nanos;
+
+        Result(String name, int threads, long operations, double opsPerSecond, long[] sortedSamples) {
+            this.name = name;
+            this.threads = threads;
+            this.operations = operations;
+            this.opsPerSecond = opsPerSecond;
+            this.p50Nanos = percentile(sortedSamples, 0.50);
+            this.p99Nanos = percentile(sortedSamples, 0.99);
+            this.p999Nanos = percentile(sortedSamples, 0.999);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-28s %7d %16.0f %10d %10d %10d",
+                    name, threads, opsPerSecond, p50Nanos, p99Nanos, p999Nanos);
+        }
+    }
+
+    public static void printHeader() {
+        System.out.println(String.format("%-28s %7s %16s %10s %10s %10s",
+                "Benchmark", "Threads", "ops/s", "p50(ns)", "p99(ns)", "p99.9(ns)"));
+    }
+
+    // Keeps a value "alive" so the JIT cannot remove the code that computed it.
+    public static void blackhole(long value) {
+        if (value == Long.MIN_VALUE + 7) {
+            sink = value;
+        }
+    }
+
+    // 1, 2, 4, 8, ... up to maxThreads (maxThreads itself is always included).
+    public static int[] threadCounts(int maxThreads) {
+        List<Integer> counts = new ArrayList<>();
+        for (int t = 1; t < maxThreads; t *= 2) {
+            counts.add(t);
+        }
+        counts.add(maxThreads);
+        return counts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // Reads "max threads" from the first program argument, defaulting to the number of cores.
+    public static int maxThreads(String[] args) {
+        if (args.length > 0) {
+            return Integer.parseInt(args[0]);
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    public static Result run(String name, int threads, Operation operation) throws InterruptedException {
+        return run(name, threads, DEFAULT_WARMUP_MILLIS, DEFAULT_MEASURE_MILLIS, operation);
+    }
+
+    public static Result run(String name, int threads, long warmupMillis, long measureMillis,
+                             Operation operation) throws InterruptedException {
+        return runPerThread(name, threads, warmupMillis, measureMillis, threadIndex -> operation);
+    }
+
+    /*
+    Runs one benchmark configuration. `operationFactory` is called once per thread, which lets a
+    benchmark give every thread its own state (like JMH's @State(Scope.Thread)).
+    */
+    public static Result runPerThread(String name, int threads, long warmupMillis, long measureMillis,
+                                      IntFunction<Operation> operationFactory) throws InterruptedException {
+        Phase phase = new Phase();
+        CyclicBarrier start = new CyclicBarrier(threads + 1);
+        long[] counts = new long[threads];
+        long[][] samples = new long[threads][];
+        int[] sampleCounts = new int[threads];
+        Throwable[] failure = new Throwable[1];
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int threadIndex = t;
+            workers[t] = new Thread(() -> {
+                Operation operation = operationFactory.apply(threadIndex);
+                long[] local = new long[MAX_SAMPLES_PER_THREAD];
+                int localSamples = 0;
+                long ops = 0;
+                try {
+                    start.await();
+                    while (phase.state == Phase.WARMUP) {
+                        operation.run(threadIndex);
+                    }
+                    while (phase.state == Phase.MEASURE) {
+                        if ((ops & SAMPLE_MASK) == 0 && localSamples < local.length) {
+                            long begin = System.nanoTime();
+                            operation.run(threadIndex);
+                            local[localSamples++] = System.nanoTime() - begin;
+                        } else {
+                            operation.run(threadIndex);
+                        }
+                        ops++;
+                    }
+                } catch (Throwable e) {
+                    synchronized (failure) {
+                        failure[0] = e;
+                    }
+                }
+                counts[threadIndex] = ops;
+                samples[threadIndex] = local;
+                sampleCounts[threadIndex] = localSamples;
+            }, name + "-" + t);
+            workers[t].start();
+        }
+
+        try {
+            start.await();
+        } catch (Exception e) {
+            throw new IllegalStateException("Benchmark threads failed to start", e);
+        }
+        Thread.sleep(warmupMillis);
+        long measureStart = System.nanoTime();
+        phase.state = Phase.MEASURE;
+        Thread.sleep(measureMillis);
+        phase.state = Phase.DONE;
+        long elapsed = System.nanoTime() - measureStart;
+
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (failure[0] != null) {
+            throw new IllegalStateException("Benchmark " + name + " failed", failure[0]);
+        }
+
+        long total = 0;
+        int totalSamples = 0;
+        for (int t = 0; t < threads; t++) {
+            total += counts[t];
+            totalSamples += sampleCounts[t];
+        }
+        long[] merged = new long[totalSamples];
+        int offset = 0;
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(samples[t], 0, merged, offset, sampleCounts[t]);
+            offset += sampleCounts[t];
+        }
+        Arrays.sort(merged);
+        return new Result(name, threads, total, total * 1_000_000_000.0 / elapsed, merged);
+    }
+
+    // Percentile of an already-sorted array of latencies (nearest-rank method).
+    public static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static final class Phase {
+        static final int WARMUP = 0;
+        static final int MEASURE = 1;
+        static final int DONE = 2;
+
+        volatile int state = WARMUP;
+    }
+}
@@ -0,0 +1,28 @@
+package main.java._05_benchmarking;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+The simplest possible striped counter: one slot per thread, summed on read.
+Each thread only ever writes its own slot, so increments never wait for each other.
+The slots are still next to each other in memory, though. See the padded version for why that matters.
+*/
+class StripedCounter {
+    private final AtomicLongArray stripes;
+
+    StripedCounter(int stripeCount) {
+        this.stripes = new AtomicLongArray(stripeCount);
+    }
+
+    void increment(int threadIndex) {
+        stripes.incrementAndGet(threadIndex % stripes.length());
+    }
+
+    long sum() {
+        long total = 0;
+        for (int i = 0; i < stripes.length(); i++) {
+            total += stripes.get(i);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,58 @@
+package main.java._05_benchmarking;
+
+import java.util.Random;
+
+/*
+Pre-generated Zipfian key stream: key k (0-based) is chosen with probability proportional to 1 / (k + 1)^s.
+Real cache traffic looks like this: a few keys are very popular, most keys are rarely asked for.
+The keys are generated once up front, so drawing a key during a benchmark costs only an array read.
+*/
+final class ZipfianKeys {
+    private final long[] keys;
+    private final int mask;
+
+    ZipfianKeys(int keySpace, double exponent, int samples, long seed) {
+        double[] cumulative = new double[keySpace];
+        double total = 0;
+        for (int k = 0; k < keySpace; k++) {
+            total += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = total;
+        }
+
+        int size = 1;
+        while (size < samples) {
+            size <<= 1;
+        }
+        this.keys = new long[size];
+        this.mask = size - 1;
+        Random random = new Random(seed);
+        for (int i = 0; i < size; i++) {
+            double target = random.nextDouble() * total;
+            int low = 0;
+            int high = keySpace - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (cumulative[middle] < target) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            // Scramble so that popular keys are not also the smallest numbers
+            keys[i] = scramble(low);
+        }
+    }
+
+    long key(long i) {
+        return keys[(int) i & mask];
+    }
+
+    int length() {
+        return keys.length;
+    }
+
+    private static long scramble(long k) {
+        k *= 0x9E3779B97F4A7C15L;
+        return k ^ (k >>> 29);
+    }
+}
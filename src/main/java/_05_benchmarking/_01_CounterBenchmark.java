@@ -0,0 +1,78 @@
+package main.java._05_benchmarking;
+
+import main.java._02_threadSynchronisation.PaddedStripedCounter;
+import main.java._02_threadSynchronisation._01_SynchronisationDemo;
+import main.java._02_threadSynchronisation._02_LockWithCustomObject;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+===============================================
+BENCHMARK: WHICH COUNTER SHOULD I USE?
+===============================================
+
+WHAT IS COMPARED?
+1. **synchronized method** → `_01_SynchronisationDemo.increment()` (one class-level lock).
+2. **Block locks** → `_02_LockWithCustomObject.increment1()/increment2()`.
+   Even threads use `lock1`, odd threads use `lock2`, exactly like `t1` and `t2` in the demo.
+3. **AtomicInteger** → one shared value updated with a CAS (compare-and-swap) loop.
+4. **LongAdder** → the JDK's striped counter: each thread usually updates its own cell.
+5. **Striped counter** → a hand-written version of the LongAdder idea (see below).
+6. **Padded striped counter** → `PaddedStripedCounter`: the same idea without false sharing.
+
+EACH ONE IS RUN WITH 1, 2, 4, ... N THREADS.
+
+WHAT TO EXPECT:
+- With 1 thread, all of them are fast: an uncontended lock is cheap.
+- As threads are added, the single-lock and single-AtomicInteger versions stop scaling:
+  every increment fights over the same memory location.
+- LongAdder and the striped counter keep scaling because threads mostly touch different memory.
+- Reading the total is the price of striping: `sum()` has to add every stripe together.
+
+HOW TO RUN:
+- `java _01_CounterBenchmark [maxThreads]` (defaults to the number of cores).
+*/
+
+public class _01_CounterBenchmark {
+    private static final AtomicInteger atomicCounter = new AtomicInteger();
+    private static final LongAdder adder = new LongAdder();
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = BenchmarkHarness.maxThreads(args);
+        BenchmarkHarness.printHeader();
+
+        for (int threads : BenchmarkHarness.threadCounts(maxThreads)) {
+            System.out.println(BenchmarkHarness.run("synchronized method", threads,
+                    threadIndex -> _01_SynchronisationDemo.increment()));
+
+            System.out.println(BenchmarkHarness.run("lock1/lock2 blocks", threads, threadIndex -> {
+                if ((threadIndex & 1) == 0) {
+                    _02_LockWithCustomObject.increment1();
+                } else {
+                    _02_LockWithCustomObject.increment2();
+                }
+            }));
+
+            System.out.println(BenchmarkHarness.run("AtomicInteger", threads,
+                    threadIndex -> atomicCounter.incrementAndGet()));
+
+            System.out.println(BenchmarkHarness.run("LongAdder", threads,
+                    threadIndex -> adder.increment()));
+
+            StripedCounter striped = new StripedCounter(maxThreads);
+            System.out.println(BenchmarkHarness.run("striped counter", threads,
+                    threadIndex -> striped.increment(threadIndex)));
+            BenchmarkHarness.blackhole(striped.sum());
+
+            PaddedStripedCounter padded = new PaddedStripedCounter();
+            System.out.println(BenchmarkHarness.run("padded striped counter", threads,
+                    threadIndex -> padded.increment()));
+            BenchmarkHarness.blackhole(padded.sum());
+        }
+
+        BenchmarkHarness.blackhole(_01_SynchronisationDemo.count);
+        BenchmarkHarness.blackhole(atomicCounter.get());
+        BenchmarkHarness.blackhole(adder.sum());
+    }
+}
@@ -0,0 +1,53 @@
+package main.java._05_benchmarking;
+
+import main.java._02_threadSynchronisation.PaddedStripedCounter;
+import main.java._02_threadSynchronisation._02_LockWithCustomObject;
+
+/*
+===============================================
+BENCHMARK: FALSE SHARING AND CORE SCALING
+===============================================
+
+WHAT IS COMPARED?
+1. **Current layout** → `count1`/`count2` as adjacent static ints, each behind its own lock
+   (`_02_LockWithCustomObject.increment1()/increment2()`). Even threads use one, odd threads the other.
+2. **Adjacent slots** → every thread has its OWN counter slot, but the slots are next to each other
+   in one array. Nothing is logically shared, so any slowdown here is pure false sharing.
+3. **Padded striped** → `PaddedStripedCounter`: one slot per core, 128 bytes apart.
+
+WHAT TO EXPECT:
+- "Adjacent slots" is fast with 1 thread but stops scaling as soon as several cores write the
+  same cache line.
+- "Padded striped" should scale close to linearly with the number of cores.
+- The ratio between the two is the cost of false sharing on this machine.
+
+HOW TO RUN:
+- `java _02_FalseSharingBenchmark [maxThreads]` (defaults to the number of cores).
+*/
+
+public class _02_FalseSharingBenchmark {
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = BenchmarkHarness.maxThreads(args);
+        BenchmarkHarness.printHeader();
+
+        for (int threads : BenchmarkHarness.threadCounts(maxThreads)) {
+            System.out.println(BenchmarkHarness.run("current layout (locks)", threads, threadIndex -> {
+                if ((threadIndex & 1) == 0) {
+                    _02_LockWithCustomObject.increment1();
+                } else {
+                    _02_LockWithCustomObject.increment2();
+                }
+            }));
+
+            StripedCounter adjacent = new StripedCounter(threads);
+            System.out.println(BenchmarkHarness.run("adjacent slots", threads,
+                    threadIndex -> adjacent.increment(threadIndex)));
+            BenchmarkHarness.blackhole(adjacent.sum());
+
+            PaddedStripedCounter padded = new PaddedStripedCounter(threads);
+            System.out.println(BenchmarkHarness.run("padded striped", threads,
+                    threadIndex -> padded.increment()));
+            BenchmarkHarness.blackhole(padded.sumThenReset());
+        }
+    }
+}
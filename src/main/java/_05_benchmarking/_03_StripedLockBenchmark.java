@@ -0,0 +1,80 @@
+package main.java._05_benchmarking;
+
+import main.java._02_threadSynchronisation.StripedLock;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Lock;
+
+/*
+===============================================
+BENCHMARK: STRIPED LOCK CONTENTION
+===============================================
+
+SETUP:
+- 100000 keys, far more than the number of stripes.
+- Every operation picks a random key, locks its stripe, updates the value for that key and unlocks.
+
+WHAT IS COMPARED?
+1. **1 stripe** → the same as one global lock.
+2. **16 / 64 / 1024 stripes** → `StripedLock.exclusive(n)`.
+3. **read/write, 64 stripes** → `StripedLock.readWrite(64)` with 90% reads and 10% writes.
+
+WHAT TO EXPECT:
+- With 1 thread the stripe count hardly matters: no lock is ever contended.
+- With more threads, 1 stripe stops scaling; more stripes means fewer threads colliding on the same lock.
+- Beyond a few stripes per thread the gains flatten out: collisions are already rare.
+
+HOW TO RUN:
+- `java _03_StripedLockBenchmark [maxThreads]` (defaults to the number of cores).
+*/
+
+public class _03_StripedLockBenchmark {
+    private static final int KEYS = 100_000;
+    private static final int[] STRIPES = {1, 16, 64, 1024};
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = BenchmarkHarness.maxThreads(args);
+        AtomicLongArray values = new AtomicLongArray(KEYS);
+        BenchmarkHarness.printHeader();
+
+        for (int threads : BenchmarkHarness.threadCounts(maxThreads)) {
+            for (int stripes : STRIPES) {
+                StripedLock<Integer> locks = StripedLock.exclusive(stripes);
+                System.out.println(BenchmarkHarness.run(stripes + " stripes", threads, threadIndex -> {
+                    int key = ThreadLocalRandom.current().nextInt(KEYS);
+                    Lock lock = locks.writeLock(key);
+                    lock.lock();
+                    try {
+                        values.lazySet(key, values.get(key) + 1);
+                    } finally {
+                        lock.unlock();
+                    }
+                }));
+            }
+
+            StripedLock<Integer> readWrite = StripedLock.readWrite(64);
+            System.out.println(BenchmarkHarness.run("read/write 64 (90% reads)", threads, threadIndex -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int key = random.nextInt(KEYS);
+                if (random.nextInt(10) == 0) {
+                    Lock lock = readWrite.writeLock(key);
+                    lock.lock();
+                    try {
+                        values.lazySet(key, values.get(key) + 1);
+                    } finally {
+                        lock.unlock();
+                    }
+                } else {
+                    Lock lock = readWrite.readLock(key);
+                    lock.lock();
+                    try {
+                        BenchmarkHarness.blackhole(values.get(key));
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            }));
+        }
+    }
+}
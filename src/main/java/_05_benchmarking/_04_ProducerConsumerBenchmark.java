@@ -0,0 +1,202 @@
+package main.java._05_benchmarking;
+
+import main.java._02_threadSynchronisation.MpmcArrayQueue;
+import main.java._02_threadSynchronisation.SpscRingBuffer;
+import main.java._02_threadSynchronisation.Worker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+===============================================
+BENCHMARK: MESSAGES PER SECOND, MONITOR vs RING BUFFER
+===============================================
+
+SETUP:
+- One producer thread and one consumer thread, like `_03_ProducerConsumer`.
+- The container holds at most 1024 items (`bottom = 0`, `top = 1024`).
+- No printing and no sleeping: we measure only the cost of handing items over.
+
+WHAT IS COMPARED?
+1. **Worker (monitor)** → `Worker.put()/take()`: ArrayList + `synchronized` + `wait()/notifyAll()`.
+2. **Ring buffer, single** → `SpscRingBuffer.offer()/poll()`, one item at a time.
+3. **Ring buffer, batch 64** → `offer(items, 0, 64)` / `drain(consumer, 64)`.
+   While full/empty, both ring buffer modes spin with `Thread.onSpinWait()`.
+4. **MPMC queue, single / drainTo 64** → `MpmcArrayQueue` used by one producer and one consumer.
+   Shows what the multi-producer safety (a CAS per claim) costs compared with the SPSC ring buffer.
+
+WHAT TO EXPECT:
+- The monitor version pays for a lock handoff and a `notifyAll()` on EVERY item.
+- The ring buffer has no lock at all; batching divides the remaining cost over 64 items.
+- Spinning keeps both threads busy on their own core. With fewer than 2 free cores,
+  spinning can be slower than blocking.
+
+HOW TO RUN:
+- `java _04_ProducerConsumerBenchmark [messages]` (defaults to 20 million per run).
+*/
+
+public class _04_ProducerConsumerBenchmark {
+    private static final int TOP = 1024;
+    private static final int BATCH = 64;
+    private static final Integer[] VALUES = new Integer[BATCH];
+
+    static {
+        for (int i = 0; i < BATCH; i++) {
+            VALUES[i] = i;   // pre-boxed, so the benchmark does not measure autoboxing
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        long messages = args.length > 0 ? Long.parseLong(args[0]) : 20_000_000L;
+
+        System.out.println(String.format("%-28s %16s", "Benchmark", "messages/s"));
+        for (int round = 0; round < 2; round++) {
+            // Round 0 is the warm-up; only round 1 is printed.
+            long warmup = round == 0 ? messages / 10 : messages;
+            report(round, "Worker (monitor)", warmup, runWorker(warmup));
+            report(round, "ring buffer, single", warmup, runRingSingle(warmup));
+            report(round, "ring buffer, batch " + BATCH, warmup, runRingBatch(warmup));
+            report(round, "MPMC queue, single", warmup, runMpmcSingle(warmup));
+            report(round, "MPMC queue, drainTo " + BATCH, warmup, runMpmcDrain(warmup));
+        }
+    }
+
+    private static void report(int round, String name, long messages, long nanos) {
+        if (round > 0) {
+            System.out.println(String.format("%-28s %16.0f", name, messages * 1_000_000_000.0 / nanos));
+        }
+    }
+
+    private static long runWorker(long messages) throws InterruptedException {
+        Worker worker = new Worker(0, TOP);
+        return runPair(() -> {
+            for (long i = 0; i < messages; i++) {
+                worker.put((int) i);
+            }
+        }, () -> {
+            long sum = 0;
+            for (long i = 0; i < messages; i++) {
+                sum += worker.take();
+            }
+            BenchmarkHarness.blackhole(sum);
+        });
+    }
+
+    private static long runRingSingle(long messages) throws InterruptedException {
+        SpscRingBuffer<Integer> ring = new SpscRingBuffer<>(TOP);
+        return runPair(() -> {
+            for (long i = 0; i < messages; i++) {
+                Integer value = VALUES[(int) i & (BATCH - 1)];
+                while (!ring.offer(value)) {
+                    Thread.onSpinWait();
+                }
+            }
+        }, () -> {
+            long sum = 0;
+            for (long i = 0; i < messages; i++) {
+                Integer value;
+                while ((value = ring.poll()) == null) {
+                    Thread.onSpinWait();
+                }
+                sum += value;
+            }
+            BenchmarkHarness.blackhole(sum);
+        });
+    }
+
+    private static long runRingBatch(long messages) throws InterruptedException {
+        SpscRingBuffer<Integer> ring = new SpscRingBuffer<>(TOP);
+        return runPair(() -> {
+            long sent = 0;
+            while (sent < messages) {
+                int length = (int) Math.min(BATCH, messages - sent);
+                int added = ring.offer(VALUES, 0, length);
+                if (added == 0) {
+                    Thread.onSpinWait();
+                }
+                sent += added;
+            }
+        }, () -> {
+            long[] sum = new long[1];
+            long received = 0;
+            while (received < messages) {
+                int drained = ring.drain(value -> sum[0] += value, BATCH);
+                if (drained == 0) {
+                    Thread.onSpinWait();
+                }
+                received += drained;
+            }
+            BenchmarkHarness.blackhole(sum[0]);
+        });
+    }
+
+    private static long runMpmcSingle(long messages) throws InterruptedException {
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(TOP);
+        return runPair(() -> offerAll(queue, messages), () -> {
+            long sum = 0;
+            for (long i = 0; i < messages; i++) {
+                Integer value;
+                while ((value = queue.poll()) == null) {
+                    Thread.onSpinWait();
+                }
+                sum += value;
+            }
+            BenchmarkHarness.blackhole(sum);
+        });
+    }
+
+    private static long runMpmcDrain(long messages) throws InterruptedException {
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(TOP);
+        return runPair(() -> offerAll(queue, messages), () -> {
+            List<Integer> batch = new ArrayList<>(BATCH);
+            long sum = 0;
+            long received = 0;
+            while (received < messages) {
+                batch.clear();
+                int drained = queue.drainTo(batch, BATCH);
+                if (drained == 0) {
+                    Thread.onSpinWait();
+                }
+                for (Integer value : batch) {
+                    sum += value;
+                }
+                received += drained;
+            }
+            BenchmarkHarness.blackhole(sum);
+        });
+    }
+
+    private static void offerAll(MpmcArrayQueue<Integer> queue, long messages) {
+        for (long i = 0; i < messages; i++) {
+            Integer value = VALUES[(int) i & (BATCH - 1)];
+            while (!queue.offer(value)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    // Runs producer and consumer on two threads and returns the elapsed time in nanoseconds.
+    private static long runPair(Step producer, Step consumer) throws InterruptedException {
+        Thread producerThread = new Thread(() -> run(producer), "producer");
+        Thread consumerThread = new Thread(() -> run(consumer), "consumer");
+        long start = System.nanoTime();
+        producerThread.start();
+        consumerThread.start();
+        producerThread.join();
+        consumerThread.join();
+        return System.nanoTime() - start;
+    }
+
+    private static void run(Step step) {
+        try {
+            step.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run() throws InterruptedException;
+    }
+}
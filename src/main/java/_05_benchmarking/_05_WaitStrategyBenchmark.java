@@ -0,0 +1,112 @@
+package main.java._05_benchmarking;
+
+import main.java._04_concurrentCollection.WaitStrategy;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+===============================================
+BENCHMARK: WAIT STRATEGY LATENCY vs CPU MATRIX
+===============================================
+
+SETUP:
+- A producer puts a timestamp (`System.nanoTime()`) into an `ArrayBlockingQueue` every `interval`.
+- The consumer takes it using one `WaitStrategy` and records `now - timestamp`: the wake-up latency.
+- The consumer's CPU time is read with `ThreadMXBean`; "cpu%" is CPU time / wall-clock time.
+  100% means the consumer kept one core completely busy.
+
+THE MATRIX:
+- Rows: every strategy (blocking, sleeping, yielding, busy-spin, spin-then-park).
+- Producer intervals: 10 us, 100 us, 1 ms (a busy, a moderate and a quiet stream).
+
+HOW TO READ IT:
+- Pick the cheapest strategy (lowest cpu%) whose p99 latency is still good enough for the deployment.
+- Busy-spin with fewer free cores than spinning threads is always a bad idea: the spinner steals
+  the core the producer needs, and latency gets WORSE, not better.
+
+HOW TO RUN:
+- `java _05_WaitStrategyBenchmark [secondsPerCell]` (defaults to 2).
+*/
+
+public class _05_WaitStrategyBenchmark {
+    private static final long[] INTERVALS_NANOS = {10_000, 100_000, 1_000_000};
+    private static final Long STOP = Long.MIN_VALUE;
+
+    public static void main(String[] args) throws InterruptedException {
+        long seconds = args.length > 0 ? Long.parseLong(args[0]) : 2;
+        WaitStrategy[] strategies = {
+                WaitStrategy.blocking(),
+                WaitStrategy.sleeping(100_000),
+                WaitStrategy.yielding(),
+                WaitStrategy.busySpin(),
+                WaitStrategy.spinThenPark(10_000),
+        };
+
+        System.out.println(String.format("%-24s %10s %10s %10s %10s %10s %8s",
+                "Strategy", "interval", "messages", "p50(ns)", "p99(ns)", "p99.9(ns)", "cpu%"));
+        for (long interval : INTERVALS_NANOS) {
+            for (WaitStrategy strategy : strategies) {
+                runCell(strategy, interval, seconds * 1_000_000_000L / 4, false);   // warm-up
+                runCell(strategy, interval, seconds * 1_000_000_000L, true);
+            }
+        }
+    }
+
+    private static void runCell(WaitStrategy strategy, long intervalNanos, long durationNanos, boolean print)
+            throws InterruptedException {
+        BlockingQueue<Long> queue = new ArrayBlockingQueue<>(1024);
+        long[] latencies = new long[(int) Math.min(durationNanos / intervalNanos + 16, 10_000_000)];
+        int[] received = new int[1];
+        long[] cpuNanos = new long[1];
+        ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+
+        Thread consumer = new Thread(() -> {
+            long cpuStart = mx.getCurrentThreadCpuTime();
+            try {
+                while (true) {
+                    Long sent = strategy.take(queue);
+                    if (sent.equals(STOP)) {
+                        break;
+                    }
+                    if (received[0] < latencies.length) {
+                        latencies[received[0]++] = System.nanoTime() - sent;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            cpuNanos[0] = mx.getCurrentThreadCpuTime() - cpuStart;
+        }, "consumer");
+
+        long start = System.nanoTime();
+        consumer.start();
+        long next = start;
+        while (next - start < durationNanos) {
+            next += intervalNanos;
+            long wait;
+            while ((wait = next - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            queue.put(System.nanoTime());
+        }
+        queue.put(STOP);
+        consumer.join();
+        long wall = System.nanoTime() - start;
+
+        if (print) {
+            long[] sorted = Arrays.copyOf(latencies, received[0]);
+            Arrays.sort(sorted);
+            System.out.println(String.format("%-24s %8dus %10d %10d %10d %10d %7.1f%%",
+                    strategy, intervalNanos / 1000, received[0],
+                    BenchmarkHarness.percentile(sorted, 0.50),
+                    BenchmarkHarness.percentile(sorted, 0.99),
+                    BenchmarkHarness.percentile(sorted, 0.999),
+                    100.0 * cpuNanos[0] / wall));
+        }
+    }
+}
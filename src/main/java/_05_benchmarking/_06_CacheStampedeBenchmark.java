@@ -0,0 +1,151 @@
+package main.java._05_benchmarking;
+
+import main.java._04_concurrentCollection.LoadingCache;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/*
+===============================================
+BENCHMARK: CACHE MISS STORM
+===============================================
+
+SETUP:
+- An empty cache, 100 keys, and 64 threads released at the same moment (CountDownLatch).
+- Every thread asks for all 100 keys in its own random order, so many threads miss the same key together.
+- The loader sleeps 20 ms (a shortened `compute()`) and counts how often it is called.
+
+WHAT IS COMPARED?
+1. **get-compute-put** → the `getCachedValue` pattern from `_04_ConcurrentHashMapDemo`.
+2. **computeIfAbsent** → `ConcurrentHashMap.computeIfAbsent`.
+3. **LoadingCache.get** → single-flight, the winning caller loads.
+4. **LoadingCache.getAsync** → single-flight, the loader runs on a 16-thread pool; callers join the future.
+   (The loader sleeps, so the small common pool would serialize the loads on machines with few cores.)
+
+WHAT TO EXPECT:
+- get-compute-put calls the loader far more than 100 times: that is the stampede.
+- All others call it exactly 100 times.
+- computeIfAbsent holds a bin lock while loading, so unrelated keys in the same bin wait too:
+  visible as a worse tail (p99 / max) than LoadingCache.
+
+HOW TO RUN:
+- `java _06_CacheStampedeBenchmark`
+*/
+
+public class _06_CacheStampedeBenchmark {
+    private static final int KEYS = 100;
+    private static final int THREADS = 64;
+    private static final long LOAD_MILLIS = 20;
+
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService loaderPool = Executors.newFixedThreadPool(16);
+        System.out.println(String.format("%-24s %8s %10s %10s %10s %10s",
+                "Cache", "loads", "p50(us)", "p99(us)", "max(us)", "total(ms)"));
+        for (int round = 0; round < 2; round++) {
+            boolean print = round > 0;   // round 0 is the warm-up
+
+            run("get-compute-put", print, loader -> {
+                Map<Integer, String> map = new ConcurrentHashMap<>();
+                return key -> {
+                    String value = map.get(key);
+                    if (value == null) {
+                        value = loader.apply(key);
+                        map.put(key, value);
+                    }
+                    return value;
+                };
+            });
+
+            run("computeIfAbsent", print, loader -> {
+                Map<Integer, String> map = new ConcurrentHashMap<>();
+                return key -> map.computeIfAbsent(key, loader);
+            });
+
+            run("LoadingCache.get", print, loader -> {
+                LoadingCache<Integer, String> cache = new LoadingCache<>();
+                return key -> cache.get(key, loader);
+            });
+
+            run("LoadingCache.getAsync", print, loader -> {
+                LoadingCache<Integer, String> cache = new LoadingCache<>(loaderPool);
+                return key -> cache.getAsync(key, loader).join();
+            });
+        }
+        loaderPool.shutdown();
+    }
+
+    private static void run(String name, boolean print,
+                            Function<Function<Integer, String>, Function<Integer, String>> cacheFactory)
+            throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        Function<Integer, String> cache = cacheFactory.apply(key -> {
+            loads.incrementAndGet();
+            try {
+                Thread.sleep(LOAD_MILLIS);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return "Value for " + key;
+        });
+
+        CountDownLatch start = new CountDownLatch(1);
+        long[][] latencies = new long[THREADS][KEYS];
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int threadIndex = t;
+            threads[t] = new Thread(() -> {
+                int[] order = shuffledKeys();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < KEYS; i++) {
+                    long begin = System.nanoTime();
+                    BenchmarkHarness.blackhole(cache.apply(order[i]).length());
+                    latencies[threadIndex][i] = System.nanoTime() - begin;
+                }
+            });
+            threads[t].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long total = System.nanoTime() - begin;
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        if (print) {
+            System.out.println(String.format("%-24s %8d %10d %10d %10d %10d",
+                    name, loads.get(),
+                    BenchmarkHarness.percentile(all, 0.50) / 1000,
+                    BenchmarkHarness.percentile(all, 0.99) / 1000,
+                    all[all.length - 1] / 1000,
+                    total / 1_000_000));
+        }
+    }
+
+    private static int[] shuffledKeys() {
+        int[] keys = new int[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = i;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = KEYS - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = tmp;
+        }
+        return keys;
+    }
+}
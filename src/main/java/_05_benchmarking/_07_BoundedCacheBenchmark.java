@@ -0,0 +1,129 @@
+package main.java._05_benchmarking;
+
+import main.java._04_concurrentCollection.BoundedCache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+===============================================
+BENCHMARK: BOUNDED CACHE HIT RATIO AND THROUGHPUT
+===============================================
+
+PART 1: HIT RATIO (single thread, so the numbers are exact)
+- Key stream: Zipfian over 1,000,000 keys (exponent 0.8 and 1.0), 4 million requests.
+- Cache sizes: 0.1%, 1% and 10% of the key space.
+- **LRU** → `LinkedHashMap` in access order with `removeEldestEntry`.
+- **W-TinyLFU** → `BoundedCache`.
+- A higher hit ratio means fewer expensive `compute()` calls.
+
+PART 2: THROUGHPUT (1..N threads)
+- Same Zipfian stream (exponent 1.0), cache size 1% of the key space.
+- Every operation: `get`, and on a miss `put`.
+- **unbounded ConcurrentHashMap** → the upper limit: no eviction work at all.
+- **synchronized LRU** → `Collections.synchronizedMap(LinkedHashMap)`: every read takes the lock
+  because a read reorders the LRU list.
+- **W-TinyLFU** → `BoundedCache`: reads go to a ConcurrentHashMap and only RECORD the access.
+
+HOW TO RUN:
+- `java _07_BoundedCacheBenchmark [maxThreads]` (defaults to the number of cores).
+*/
+
+public class _07_BoundedCacheBenchmark {
+    private static final int KEY_SPACE = 1_000_000;
+    private static final int REQUESTS = 4_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println(String.format("%-10s %10s %12s %12s", "exponent", "cacheSize", "LRU", "W-TinyLFU"));
+        for (double exponent : new double[]{0.8, 1.0}) {
+            ZipfianKeys keys = new ZipfianKeys(KEY_SPACE, exponent, REQUESTS, 42);
+            for (int cacheSize : new int[]{KEY_SPACE / 1000, KEY_SPACE / 100, KEY_SPACE / 10}) {
+                System.out.println(String.format("%-10.1f %10d %11.2f%% %11.2f%%", exponent, cacheSize,
+                        100 * lruHitRatio(keys, cacheSize), 100 * tinyLfuHitRatio(keys, cacheSize)));
+            }
+        }
+        System.out.println();
+
+        int maxThreads = BenchmarkHarness.maxThreads(args);
+        int cacheSize = KEY_SPACE / 100;
+        ZipfianKeys keys = new ZipfianKeys(KEY_SPACE, 1.0, REQUESTS, 7);
+        BenchmarkHarness.printHeader();
+        for (int threads : BenchmarkHarness.threadCounts(maxThreads)) {
+            Map<Long, Long> unbounded = new ConcurrentHashMap<>();
+            System.out.println(BenchmarkHarness.runPerThread("unbounded CHM", threads,
+                    BenchmarkHarness.DEFAULT_WARMUP_MILLIS, BenchmarkHarness.DEFAULT_MEASURE_MILLIS,
+                    threadIndex -> {
+                        long[] i = {ThreadLocalRandom.current().nextInt(keys.length())};
+                        return t -> {
+                            Long key = keys.key(i[0]++);
+                            if (unbounded.get(key) == null) {
+                                unbounded.put(key, key);
+                            }
+                        };
+                    }));
+
+            Map<Long, Long> lru = Collections.synchronizedMap(lru(cacheSize));
+            System.out.println(BenchmarkHarness.runPerThread("synchronized LRU", threads,
+                    BenchmarkHarness.DEFAULT_WARMUP_MILLIS, BenchmarkHarness.DEFAULT_MEASURE_MILLIS,
+                    threadIndex -> {
+                        long[] i = {ThreadLocalRandom.current().nextInt(keys.length())};
+                        return t -> {
+                            Long key = keys.key(i[0]++);
+                            if (lru.get(key) == null) {
+                                lru.put(key, key);
+                            }
+                        };
+                    }));
+
+            BoundedCache<Long, Long> tinyLfu = new BoundedCache<>(cacheSize);
+            System.out.println(BenchmarkHarness.runPerThread("W-TinyLFU", threads,
+                    BenchmarkHarness.DEFAULT_WARMUP_MILLIS, BenchmarkHarness.DEFAULT_MEASURE_MILLIS,
+                    threadIndex -> {
+                        long[] i = {ThreadLocalRandom.current().nextInt(keys.length())};
+                        return t -> {
+                            Long key = keys.key(i[0]++);
+                            if (tinyLfu.get(key) == null) {
+                                tinyLfu.put(key, key);
+                            }
+                        };
+                    }));
+        }
+    }
+
+    private static double lruHitRatio(ZipfianKeys keys, int cacheSize) {
+        Map<Long, Long> cache = lru(cacheSize);
+        long hits = 0;
+        for (int i = 0; i < keys.length(); i++) {
+            Long key = keys.key(i);
+            if (cache.get(key) != null) {
+                hits++;
+            } else {
+                cache.put(key, key);
+            }
+        }
+        return (double) hits / keys.length();
+    }
+
+    private static double tinyLfuHitRatio(ZipfianKeys keys, int cacheSize) {
+        BoundedCache<Long, Long> cache = new BoundedCache<>(cacheSize);
+        for (int i = 0; i < keys.length(); i++) {
+            Long key = keys.key(i);
+            if (cache.get(key) == null) {
+                cache.put(key, key);
+            }
+        }
+        return cache.hitRate();
+    }
+
+    private static <K, V> Map<K, V> lru(int maximumSize) {
+        return new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package main.java._05_benchmarking;
+
+import main.java._04_concurrentCollection.ConcurrentLongLongMap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+===============================================
+BENCHMARK: PRIMITIVE long → long MAP VS ConcurrentHashMap<Long, Long>
+===============================================
+
+PART 1: MEMORY (single thread)
+- Inserts 2,000,000 entries into each map and measures the heap before and after (after a GC).
+- Reports retained BYTES PER ENTRY. Keys are large numbers, so `Long.valueOf` cannot use its
+  small-value cache: every key and value really is an object, as with real IDs.
+
+PART 2: THROUGHPUT (1..N threads)
+- Both maps are pre-filled with 1,000,000 keys. Every thread picks random keys from that set.
+- **get** → lookups only.
+- **put** → overwrites of existing keys (the value changes, the key set does not).
+- `ConcurrentHashMap` boxes the key on every call; `ConcurrentLongLongMap` never allocates.
+
+HOW TO RUN:
+- `java -Xmx2g _08_LongMapBenchmark [maxThreads]` (defaults to the number of cores).
+*/
+
+public class _08_LongMapBenchmark {
+    private static final int MEMORY_ENTRIES = 2_000_000;
+    private static final int KEYS = 1_000_000;
+    private static final long KEY_BASE = 1_000_000_000L;
+    private static final long MISSING = -1;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println(String.format("%-28s %12s %14s", "Map", "entries", "bytes/entry"));
+        measureMemory("ConcurrentHashMap<Long,Long>", () -> {
+            Map<Long, Long> map = new ConcurrentHashMap<>();
+            for (long i = 0; i < MEMORY_ENTRIES; i++) {
+                map.put(KEY_BASE + i, KEY_BASE + i);
+            }
+            return map;
+        });
+        measureMemory("ConcurrentLongLongMap", () -> {
+            ConcurrentLongLongMap map = new ConcurrentLongLongMap(16, MISSING);
+            for (long i = 0; i < MEMORY_ENTRIES; i++) {
+                map.put(KEY_BASE + i, KEY_BASE + i);
+            }
+            return map;
+        });
+        System.out.println();
+
+        Map<Long, Long> boxed = new ConcurrentHashMap<>();
+        ConcurrentLongLongMap primitive = new ConcurrentLongLongMap(KEYS, MISSING);
+        for (long i = 0; i < KEYS; i++) {
+            boxed.put(KEY_BASE + i, i);
+            primitive.put(KEY_BASE + i, i);
+        }
+
+        int maxThreads = BenchmarkHarness.maxThreads(args);
+        BenchmarkHarness.printHeader();
+        for (int threads : BenchmarkHarness.threadCounts(maxThreads)) {
+            System.out.println(BenchmarkHarness.run("CHM get", threads, t -> {
+                Long value = boxed.get(randomKey());
+                BenchmarkHarness.blackhole(value == null ? 0 : value);
+            }));
+            System.out.println(BenchmarkHarness.run("ConcurrentLongLongMap get", threads, t ->
+                    BenchmarkHarness.blackhole(primitive.get(randomKey()))));
+            System.out.println(BenchmarkHarness.run("CHM put", threads, t -> {
+                long key = randomKey();
+                boxed.put(key, key);
+            }));
+            System.out.println(BenchmarkHarness.run("ConcurrentLongLongMap put", threads, t -> {
+                long key = randomKey();
+                primitive.put(key, key);
+            }));
+        }
+    }
+
+    private static long randomKey() {
+        return KEY_BASE + ThreadLocalRandom.current().nextInt(KEYS);
+    }
+
+    private interface Filler {
+        Object fill();
+    }
+
+    private static void measureMemory(String name, Filler filler) {
+        long before = usedHeap();
+        Object map = filler.fill();
+        long after = usedHeap();
+        System.out.println(String.format("%-28s %12d %14.1f", name, MEMORY_ENTRIES,
+                (double) (after - before) / MEMORY_ENTRIES));
+        BenchmarkHarness.blackhole(map.hashCode());   // keeps the map reachable until after the measurement
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,180 @@
+package main.java._05_benchmarking;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import main.java._04_concurrentCollection.OffHeapCache;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.io.File;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+===============================================
+BENCHMARK: GC PAUSES WITH ON-HEAP VS OFF-HEAP CACHE VALUES
+===============================================
+
+SETUP:
+- Both caches hold the same number of entries (1,000,000 by default) with ~200-character values.
+- **on-heap** → `ConcurrentHashMap<Integer, String>`: every value is a live `String` the GC must trace.
+- **off-heap** → `OffHeapCache<Integer>`: the values are bytes in direct memory; the heap only holds handles.
+
+WORKLOAD (10 seconds, all cores):
+- 90% reads of random keys, 10% replacements with a new value: the old value becomes garbage
+  (on-heap) or its chunk is reused (off-heap).
+
+WHAT IS MEASURED:
+- **heap MB**: live heap after a full GC.
+- **full GC ms**: how long one `System.gc()` takes with the cache filled: the cost of tracing the live set.
+- **pauses / total ms / max ms**: every stop-the-world GC pause during the workload, from GC notifications.
+- **ops/s**: the price of the off-heap copy and decode on every read.
+
+HOW TO RUN:
+- `java -Xmx2g _09_OffHeapCacheBenchmark [entries]`
+- Each mode runs in its own JVM (same heap settings), so one mode's garbage cannot show up in the other's pauses.
+*/
+
+public class _09_OffHeapCacheBenchmark {
+    private static final int VALUE_CHARS = 200;
+    private static final long RUN_MILLIS = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 3 && args[0].equals("--mode")) {
+            runMode(args[1], Integer.parseInt(args[2]));
+            return;
+        }
+        String entries = args.length > 0 ? args[0] : "1000000";
+        System.out.println(String.format("%-10s %10s %9s %12s %8s %10s %8s %12s",
+                "mode", "entries", "heap MB", "full GC ms", "pauses", "total ms", "max ms", "ops/s"));
+        for (String mode : new String[]{"on-heap", "off-heap"}) {
+            launch(mode, entries);
+        }
+    }
+
+    // Starts the same program in a fresh JVM with the same JVM options and class path.
+    private static void launch(String mode, String entries) throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(_09_OffHeapCacheBenchmark.class.getName());
+        command.add("--mode");
+        command.add(mode);
+        command.add(entries);
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException(mode + " run failed");
+        }
+    }
+
+    private static void runMode(String mode, int entries) throws InterruptedException {
+        Map<Integer, String> onHeap = new ConcurrentHashMap<>();
+        OffHeapCache<Integer> offHeap = new OffHeapCache<>((long) entries * 512 + (64 << 20));
+        boolean useOffHeap = mode.equals("off-heap");
+        for (int i = 0; i < entries; i++) {
+            if (useOffHeap) {
+                offHeap.put(i, value(i));
+            } else {
+                onHeap.put(i, value(i));
+            }
+        }
+
+        long heapBefore = usedHeap();
+        long fullGcStart = System.nanoTime();
+        System.gc();
+        long fullGcMillis = (System.nanoTime() - fullGcStart) / 1_000_000;
+
+        PauseRecorder pauses = new PauseRecorder();
+        AtomicLong operations = new AtomicLong();
+        int threads = Runtime.getRuntime().availableProcessors();
+        Thread[] workers = new Thread[threads];
+        long end = System.nanoTime() + RUN_MILLIS * 1_000_000;
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long ops = 0;
+                while (System.nanoTime() < end) {
+                    int key = random.nextInt(entries);
+                    if (random.nextInt(10) == 0) {
+                        String value = value(random.nextInt());
+                        if (useOffHeap) {
+                            offHeap.put(key, value);
+                        } else {
+                            onHeap.put(key, value);
+                        }
+                    } else {
+                        String value = useOffHeap ? offHeap.getIfPresent(key) : onHeap.get(key);
+                        BenchmarkHarness.blackhole(value == null ? 0 : value.length());
+                    }
+                    ops++;
+                }
+                operations.addAndGet(ops);
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        pauses.stop();
+
+        System.out.println(String.format("%-10s %10d %9d %12d %8d %10d %8d %12.0f",
+                mode, entries, heapBefore >> 20, fullGcMillis, pauses.count.get(), pauses.totalMillis.get(),
+                pauses.maxMillis.get(), operations.get() * 1000.0 / RUN_MILLIS));
+        BenchmarkHarness.blackhole(onHeap.size() + offHeap.size());
+    }
+
+    private static String value(int seed) {
+        StringBuilder builder = new StringBuilder(VALUE_CHARS);
+        builder.append("Value for key @ ").append(seed).append(' ');
+        while (builder.length() < VALUE_CHARS) {
+            builder.append((char) ('a' + (builder.length() + seed & 15)));
+        }
+        return builder.toString();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Records every stop-the-world pause reported by the garbage collectors.
+    private static final class PauseRecorder {
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong totalMillis = new AtomicLong();
+        final AtomicLong maxMillis = new AtomicLong();
+        volatile boolean stopped;
+
+        PauseRecorder() {
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                ((NotificationEmitter) gc).addNotificationListener((notification, handback) -> {
+                    if (stopped || !notification.getType().equals(
+                            GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                        return;
+                    }
+                    GarbageCollectionNotificationInfo info =
+                            GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                    if (info.getGcName().contains("Concurrent") || info.getGcCause().equals("No GC")) {
+                        return;   // concurrent cycles run next to the application, they are not pauses
+                    }
+                    long millis = info.getGcInfo().getDuration();
+                    count.incrementAndGet();
+                    totalMillis.addAndGet(millis);
+                    maxMillis.accumulateAndGet(millis, Math::max);
+                }, null, null);
+            }
+        }
+
+        void stop() {
+            stopped = true;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package main.java._05_benchmarking;
+
+import main.java._04_concurrentCollection.PersistentCache;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/*
+===============================================
+BENCHMARK: TIME-TO-WARM, COLD START VS SNAPSHOT RESTORE
+===============================================
+
+SETUP:
+- 20,000 keys with ~200-character values. Computing a value takes 1 ms (like a remote call).
+- A first `PersistentCache` computes every key and writes its snapshot file on `close()`.
+
+WHAT IS MEASURED (16 reader threads, each key read once):
+- **cold**: an empty cache on a new file, every key is computed.
+- **restored**: `PersistentCache.open()` on the snapshot file.
+- **open ms** → how long start-up waits (the restore itself runs in the background).
+- **warm ms** → from start-up until every key has been served once.
+- **loader calls** → how often the slow computation still ran.
+
+HOW TO RUN:
+- `java _10_WarmStartBenchmark [keys]`
+*/
+
+public class _10_WarmStartBenchmark {
+    private static final int READERS = 16;
+    private static final int VALUE_CHARS = 200;
+
+    public static void main(String[] args) throws Exception {
+        int keys = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        Path directory = Files.createTempDirectory("warm-start");
+        Path snapshot = directory.resolve("cache.snapshot");
+        try (PersistentCache first = PersistentCache.open(snapshot)) {
+            for (int i = 0; i < keys; i++) {
+                first.put(key(i), value(key(i)));
+            }
+        }
+
+        System.out.println(String.format("%-10s %8s %10s %10s %14s", "start", "keys", "open ms", "warm ms", "loader calls"));
+        measure("cold", directory.resolve("empty.snapshot"), keys);
+        measure("restored", snapshot, keys);
+
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    private static void measure(String name, Path file, int keys) throws Exception {
+        AtomicLong loaderCalls = new AtomicLong();
+        Function<String, String> loader = key -> {
+            loaderCalls.incrementAndGet();
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return value(key);
+        };
+
+        long start = System.nanoTime();
+        PersistentCache cache = PersistentCache.open(file);
+        long openNanos = System.nanoTime() - start;
+        ExecutorService readers = Executors.newFixedThreadPool(READERS);
+        for (int t = 0; t < READERS; t++) {
+            int first = t;
+            readers.execute(() -> {
+                for (int i = first; i < keys; i += READERS) {
+                    BenchmarkHarness.blackhole(cache.get(key(i), loader).length());
+                }
+            });
+        }
+        readers.shutdown();
+        readers.awaitTermination(1, TimeUnit.HOURS);
+        long warmNanos = System.nanoTime() - start;
+        cache.close();
+
+        System.out.println(String.format("%-10s %8d %10.1f %10.1f %14d", name, keys,
+                openNanos / 1e6, warmNanos / 1e6, loaderCalls.get()));
+    }
+
+    private static String key(int i) {
+        return "key @ " + i;
+    }
+
+    private static String value(String key) {
+        StringBuilder builder = new StringBuilder(VALUE_CHARS).append("Value for ").append(key);
+        while (builder.length() < VALUE_CHARS) {
+            builder.append('.');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,103 @@
+package main.java._05_benchmarking;
+
+import main.java._03_executorService.WorkStealingExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/*
+===============================================
+BENCHMARK: WORK-STEALING EXECUTOR VS newFixedThreadPool
+===============================================
+
+FINE-GRAINED TASKS:
+- Every task does ~100 ns of arithmetic: far less than the cost of a queue handoff.
+
+TWO WORKLOADS (one operation = one complete batch, so ops/s x tasks = tasks per second):
+- **batch** → one outside thread submits 1,000 independent tasks and waits for all of them.
+- **fan-out** → one root task; every task submits two child tasks from INSIDE the pool
+  until depth 9 (1,023 tasks). This is divide-and-conquer, where local submission matters most.
+
+POOLS:
+- **fixed** → `Executors.newFixedThreadPool(p)`: one shared `LinkedBlockingQueue`.
+- **stealing** → `WorkStealingExecutor(p)`: one deque per worker.
+- Run for pool sizes p = 1, 2, 4, ... N. The "Threads" column is the single submitting thread;
+  the pool size is part of the name.
+
+HOW TO RUN:
+- `java _11_WorkStealingBenchmark [maxPoolSize]` (defaults to the number of cores).
+*/
+
+public class _11_WorkStealingBenchmark {
+    private static final int BATCH = 1000;
+    private static final int FAN_OUT_DEPTH = 9;
+    private static final int FAN_OUT_TASKS = (1 << (FAN_OUT_DEPTH + 1)) - 1;
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxPool = BenchmarkHarness.maxThreads(args);
+        System.out.println("batch = " + BATCH + " tasks, fan-out = " + FAN_OUT_TASKS + " tasks per operation");
+        BenchmarkHarness.printHeader();
+        for (int pool : BenchmarkHarness.threadCounts(maxPool)) {
+            ExecutorService fixed = Executors.newFixedThreadPool(pool);
+            ExecutorService stealing = new WorkStealingExecutor(pool);
+            System.out.println(BenchmarkHarness.run("fixed batch p=" + pool, 1, t -> batch(fixed)));
+            System.out.println(BenchmarkHarness.run("stealing batch p=" + pool, 1, t -> batch(stealing)));
+            System.out.println(BenchmarkHarness.run("fixed fan-out p=" + pool, 1, t -> fanOut(fixed)));
+            System.out.println(BenchmarkHarness.run("stealing fan-out p=" + pool, 1, t -> fanOut(stealing)));
+            fixed.shutdown();
+            stealing.shutdown();
+            fixed.awaitTermination(10, TimeUnit.SECONDS);
+            stealing.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void batch(ExecutorService executor) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            int seed = i;
+            executor.execute(() -> {
+                BenchmarkHarness.blackhole(work(seed));
+                done.countDown();
+            });
+        }
+        done.await();
+    }
+
+    private static void fanOut(ExecutorService executor) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(FAN_OUT_TASKS);
+        executor.execute(new Node(executor, 0, done));
+        done.await();
+    }
+
+    private static long work(long seed) {
+        long x = seed;
+        for (int i = 0; i < 50; i++) {
+            x = x * 6364136223846793005L + 1442695040888963407L;
+        }
+        return x;
+    }
+
+    private static final class Node implements Runnable {
+        private final ExecutorService executor;
+        private final int depth;
+        private final CountDownLatch done;
+
+        Node(ExecutorService executor, int depth, CountDownLatch done) {
+            this.executor = executor;
+            this.depth = depth;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            if (depth < FAN_OUT_DEPTH) {
+                executor.execute(new Node(executor, depth + 1, done));
+                executor.execute(new Node(executor, depth + 1, done));
+            }
+            BenchmarkHarness.blackhole(work(depth));
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package main.java._05_benchmarking;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/*
+===============================================
+BENCHMARK: PLATFORM THREAD POOLS VS VIRTUAL THREADS FOR SLEEPING TASKS
+===============================================
+
+THE WORKLOAD:
+- Like `Task` in the executor demos, every task just sleeps (10 ms here instead of 1 s): pure waiting.
+- 10, 100, ... 1,000,000 tasks are submitted at once; the run ends when all are done.
+
+EXECUTOR KINDS:
+- **fixed-100** → `newFixedThreadPool(100)`: at most 100 tasks sleep at the same time.
+- **cached** → `newCachedThreadPool()`: one PLATFORM thread per waiting task (OS thread + native stack).
+- **virtual** → `newVirtualThreadPerTaskExecutor()`: one VIRTUAL thread per task; a sleeping virtual
+  thread is just a small object on the heap, its carrier thread runs other tasks.
+
+WHAT IS MEASURED:
+- **tasks/s** → throughput over the whole run.
+- **peak heap MB** → sampled every 10 ms (virtual thread stacks live on the heap).
+- **peak platform** → most platform threads alive at once. Each one also reserves a native stack
+  (`-Xss`, 1 MB by default on 64-bit Linux) outside the heap.
+- A second table shows the cost of creating, starting and joining ONE thread of each kind.
+
+SKIPPED RUNS:
+- `cached` stops at 10,000 tasks: more OS threads can crash the machine, which is the point of the demo notes.
+- `fixed-100` stops when the run would take longer than ~30 seconds.
+
+HOW TO RUN (needs Java 21):
+- `java _12_VirtualThreadBenchmark`
+*/
+
+public class _12_VirtualThreadBenchmark {
+    private static final long SLEEP_MILLIS = 10;
+    private static final int FIXED_THREADS = 100;
+    private static final int CACHED_LIMIT = 10_000;
+    private static final long MAX_EXPECTED_MILLIS = 30_000;
+    private static final int CREATION_THREADS = 10_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println(String.format("%-10s %10s %12s %12s %14s", "executor", "tasks", "tasks/s", "peak heap MB", "peak platform"));
+        for (int tasks = 10; tasks <= 1_000_000; tasks *= 10) {
+            if (tasks * SLEEP_MILLIS / FIXED_THREADS <= MAX_EXPECTED_MILLIS) {
+                run("fixed-100", tasks, () -> Executors.newFixedThreadPool(FIXED_THREADS));
+            } else {
+                System.out.println(String.format("%-10s %10d %12s", "fixed-100", tasks, "skipped"));
+            }
+            if (tasks <= CACHED_LIMIT) {
+                run("cached", tasks, Executors::newCachedThreadPool);
+            } else {
+                System.out.println(String.format("%-10s %10d %12s", "cached", tasks, "skipped"));
+            }
+            run("virtual", tasks, Executors::newVirtualThreadPerTaskExecutor);
+        }
+
+        System.out.println();
+        System.out.println(String.format("%-10s %10s %16s", "thread", "count", "create+join us"));
+        for (int round = 0; round < 3; round++) {   // the first round warms up the JIT
+            creationCost("platform", Thread.ofPlatform().factory());
+            creationCost("virtual", Thread.ofVirtual().factory());
+        }
+    }
+
+    private static void run(String name, int tasks, Supplier<ExecutorService> factory) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        threads.resetPeakThreadCount();
+        AtomicLong peakHeap = new AtomicLong(memory.getHeapMemoryUsage().getUsed());
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = factory.get()) {
+            for (int i = 0; i < tasks; i++) {
+                executor.execute(() -> {
+                    try {
+                        Thread.sleep(SLEEP_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+        }   // close() waits for every task
+        long elapsed = System.nanoTime() - start;
+        sampler.interrupt();
+        sampler.join();
+
+        System.out.println(String.format("%-10s %10d %12.0f %12d %14d", name, tasks,
+                tasks * 1e9 / elapsed, peakHeap.get() >> 20, threads.getPeakThreadCount()));
+    }
+
+    private static void creationCost(String name, ThreadFactory factory) throws InterruptedException {
+        Thread[] started = new Thread[CREATION_THREADS];
+        long start = System.nanoTime();
+        for (int i = 0; i < CREATION_THREADS; i++) {
+            int seed = i;
+            started[i] = factory.newThread(() -> BenchmarkHarness.blackhole(seed));
+            started[i].start();
+        }
+        for (Thread thread : started) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println(String.format("%-10s %10d %16.2f", name, CREATION_THREADS,
+                elapsed / 1e3 / CREATION_THREADS));
+    }
+}
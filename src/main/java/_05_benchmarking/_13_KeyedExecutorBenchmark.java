@@ -0,0 +1,111 @@
+package main.java._05_benchmarking;
+
+import main.java._03_executorService.KeyedSerialExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+===============================================
+BENCHMARK: KEYED SERIAL EXECUTOR VS ONE SINGLE-THREAD EXECUTOR
+===============================================
+
+THE WORKLOAD:
+- 200,000 events spread round-robin over K entities (K = 1, 4, 16, 64, 256, 1024).
+- Every event does ~2 us of work and checks that it is the next event of its entity.
+
+EXECUTORS:
+- **single** → `newSingleThreadExecutor()`: everything in one line, ordered.
+- **keyed** → `KeyedSerialExecutor` over `newFixedThreadPool(cores)`: ordered per entity,
+  parallel across entities.
+
+WHAT IS MEASURED:
+- Events per second (best of 3 runs), and the number of events that ran OUT OF ORDER for their entity
+  (must be 0 for both).
+- Expected: `single` is flat; `keyed` grows with K until every core is busy.
+
+HOW TO RUN:
+- `java _13_KeyedExecutorBenchmark [poolSize]` (defaults to the number of cores).
+*/
+
+public class _13_KeyedExecutorBenchmark {
+    private static final int EVENTS = 200_000;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws InterruptedException {
+        int poolSize = BenchmarkHarness.maxThreads(args);
+        System.out.println(String.format("%-8s %14s %14s %12s", "keys", "single ev/s", "keyed ev/s", "out of order"));
+        for (int keys = 1; keys <= 1024; keys *= 4) {
+            double single = 0;
+            double keyed = 0;
+            long outOfOrder = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                ExecutorService singleThread = Executors.newSingleThreadExecutor();
+                Run singleRun = new Run(keys);
+                single = Math.max(single, singleRun.measure((key, event) -> singleThread.execute(event)));
+                outOfOrder += singleRun.outOfOrder.get();
+                shutdown(singleThread);
+
+                ExecutorService pool = Executors.newFixedThreadPool(poolSize);
+                KeyedSerialExecutor<Integer> keyedExecutor = new KeyedSerialExecutor<>(pool);
+                Run keyedRun = new Run(keys);
+                keyed = Math.max(keyed, keyedRun.measure(keyedExecutor::execute));
+                outOfOrder += keyedRun.outOfOrder.get();
+                shutdown(pool);
+            }
+            System.out.println(String.format("%-8d %14.0f %14.0f %12d", keys, single, keyed, outOfOrder));
+        }
+    }
+
+    private static void shutdown(ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private interface Submitter {
+        void submit(int key, Runnable event);
+    }
+
+    // One run: every entity has a counter; event n of an entity must see the counter at n.
+    private static final class Run {
+        final int keys;
+        final long[] nextSequence;
+        final AtomicLong outOfOrder = new AtomicLong();
+
+        Run(int keys) {
+            this.keys = keys;
+            this.nextSequence = new long[keys];
+        }
+
+        double measure(Submitter submitter) throws InterruptedException {
+            CountDownLatch done = new CountDownLatch(EVENTS);
+            long start = System.nanoTime();
+            for (int i = 0; i < EVENTS; i++) {
+                int key = i % keys;
+                long sequence = i / keys;
+                submitter.submit(key, () -> {
+                    // Runs serially per key, so the plain array access is safe (the executor hands over memory)
+                    if (nextSequence[key] != sequence) {
+                        outOfOrder.incrementAndGet();
+                    }
+                    nextSequence[key] = sequence + 1;
+                    BenchmarkHarness.blackhole(work(sequence));
+                    done.countDown();
+                });
+            }
+            done.await();
+            return EVENTS * 1e9 / (System.nanoTime() - start);
+        }
+    }
+
+    private static long work(long seed) {
+        long x = seed;
+        for (int i = 0; i < 1000; i++) {
+            x = x * 6364136223846793005L + 1442695040888963407L;
+        }
+        return x;
+    }
+}
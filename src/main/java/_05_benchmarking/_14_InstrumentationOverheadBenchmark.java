@@ -0,0 +1,94 @@
+package main.java._05_benchmarking;
+
+import main.java._03_executorService.InstrumentedExecutorService;
+import main.java._03_executorService.LatencyHistogram;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/*
+===============================================
+BENCHMARK: WHAT DOES INSTRUMENTATION COST?
+===============================================
+
+PART 1, EXECUTOR:
+- One outside thread submits 1,000 tiny tasks (~100 ns each) and waits for all of them.
+  One operation = one complete batch.
+- **plain** → `newFixedThreadPool(p)`.
+- **instrumented** → the same pool wrapped in `InstrumentedExecutorService`: every task gets a
+  wrapper, two `nanoTime()` calls, two histogram records and a few counter updates.
+- Tiny tasks are the WORST case: the fixed cost per task is compared with ~100 ns of work.
+  For tasks of a millisecond the difference disappears.
+
+PART 2, HISTOGRAM:
+- `LatencyHistogram.record()` alone, from 1..N threads into ONE shared histogram.
+- Shows that recording does not become a contention point as threads are added.
+
+HOW TO RUN:
+- `java _14_InstrumentationOverheadBenchmark [maxThreads]` (defaults to the number of cores).
+- At the end, the instrumented pool's own view of the last run is printed.
+*/
+
+public class _14_InstrumentationOverheadBenchmark {
+    private static final int BATCH = 1000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = BenchmarkHarness.maxThreads(args);
+        System.out.println("batch = " + BATCH + " tasks per operation");
+        BenchmarkHarness.printHeader();
+        InstrumentedExecutorService last = null;
+        for (int pool : BenchmarkHarness.threadCounts(maxThreads)) {
+            ExecutorService plain = Executors.newFixedThreadPool(pool);
+            InstrumentedExecutorService instrumented = new InstrumentedExecutorService(Executors.newFixedThreadPool(pool));
+            System.out.println(BenchmarkHarness.run("plain p=" + pool, 1, t -> batch(plain)));
+            System.out.println(BenchmarkHarness.run("instrumented p=" + pool, 1, t -> batch(instrumented)));
+            plain.shutdown();
+            instrumented.shutdown();
+            plain.awaitTermination(10, TimeUnit.SECONDS);
+            instrumented.awaitTermination(10, TimeUnit.SECONDS);
+            last = instrumented;
+        }
+
+        System.out.println();
+        BenchmarkHarness.printHeader();
+        for (int threads : BenchmarkHarness.threadCounts(maxThreads)) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            System.out.println(BenchmarkHarness.runPerThread("histogram record", threads,
+                    BenchmarkHarness.DEFAULT_WARMUP_MILLIS, BenchmarkHarness.DEFAULT_MEASURE_MILLIS,
+                    threadIndex -> {
+                        long[] value = {threadIndex * 7919L};
+                        return t -> {
+                            // Spread values over ~1 us .. 1 ms, like real latencies
+                            value[0] = value[0] * 6364136223846793005L + 1442695040888963407L;
+                            histogram.record(1000 + ((value[0] >>> 33) & 0xFFFFF));
+                        };
+                    }));
+        }
+
+        System.out.println();
+        System.out.println("Instrumented pool, last run (times in ns):");
+        System.out.println(last.snapshot());
+    }
+
+    private static void batch(ExecutorService executor) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            int seed = i;
+            executor.execute(() -> {
+                BenchmarkHarness.blackhole(work(seed));
+                done.countDown();
+            });
+        }
+        done.await();
+    }
+
+    private static long work(long seed) {
+        long x = seed;
+        for (int i = 0; i < 50; i++) {
+            x = x * 6364136223846793005L + 1442695040888963407L;
+        }
+        return x;
+    }
+}
@@ -0,0 +1,145 @@
+package main.java._05_benchmarking;
+
+import main.java._03_executorService.AdaptiveThreadPool;
+import main.java._03_executorService.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+===============================================
+BENCHMARK: BURSTY LOAD ON CACHED, FIXED AND ADAPTIVE POOLS
+===============================================
+
+THE WORKLOAD:
+- 5 cycles of 1 second. Each cycle starts with a BURST: 400 tasks submitted within 100 ms
+  (4,000 tasks per second), then 900 ms of silence. Every task sleeps 20 ms (like an I/O call).
+- Little's law for the burst: 4,000/s × 20 ms = 80 tasks running at once.
+- After the last cycle, 2 more seconds of silence show how fast each pool gives threads back.
+
+POOLS:
+- **cached** → `newCachedThreadPool()`: starts whatever the burst needs, keeps idle threads 60 s.
+- **fixed16** → `newFixedThreadPool(16)`: a guess that is too small for the burst.
+- **adaptive** → `AdaptiveThreadPool(2, 200, 1000)`: sized from measured arrival rate × run time.
+
+WHAT IS MEASURED:
+- Latency per task = submit → end (queue wait + 20 ms run time): p50, p99, max.
+- The pool's thread count every 250 ms (a timeline), its peak, and the count at the end.
+
+HOW TO RUN:
+- `java _15_AdaptivePoolBenchmark` (about 25 seconds).
+*/
+
+public class _15_AdaptivePoolBenchmark {
+    private static final int CYCLES = 5;
+    private static final int BURST_TASKS = 400;
+    private static final long BURST_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long CYCLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long TAIL_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final long TASK_MILLIS = 20;
+    private static final long SAMPLE_MILLIS = 250;
+
+    public static void main(String[] args) throws InterruptedException {
+        String[] names = {"cached", "fixed16", "adaptive"};
+        List<List<Integer>> timelines = new ArrayList<>();
+        List<String> summaries = new ArrayList<>();
+        for (String name : names) {
+            ThreadPoolExecutor pool = newPool(name);
+            Run run = new Run(pool);
+            run.execute();
+            timelines.add(run.threadCounts);
+            summaries.add(String.format("%-10s %10.1f %10.1f %10.1f %10d %10d", name,
+                    run.latency.percentile(0.50) / 1e6, run.latency.percentile(0.99) / 1e6,
+                    run.latency.max() / 1e6, run.peakThreads(), run.threadCounts.get(run.threadCounts.size() - 1)));
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        System.out.println("Threads over time:");
+        System.out.println(String.format("%-8s %10s %10s %10s", "t(ms)", names[0], names[1], names[2]));
+        int samples = timelines.stream().mapToInt(List::size).min().orElse(0);
+        for (int i = 0; i < samples; i++) {
+            System.out.println(String.format("%-8d %10d %10d %10d", i * SAMPLE_MILLIS,
+                    timelines.get(0).get(i), timelines.get(1).get(i), timelines.get(2).get(i)));
+        }
+        System.out.println();
+        System.out.println(String.format("%-10s %10s %10s %10s %10s %10s",
+                "Pool", "p50(ms)", "p99(ms)", "max(ms)", "peak thr", "end thr"));
+        summaries.forEach(System.out::println);
+    }
+
+    private static ThreadPoolExecutor newPool(String name) {
+        switch (name) {
+            case "cached":
+                return (ThreadPoolExecutor) Executors.newCachedThreadPool();
+            case "fixed16":
+                return (ThreadPoolExecutor) Executors.newFixedThreadPool(16);
+            case "adaptive":
+                return new AdaptiveThreadPool(2, 200, 1000);
+            default:
+                throw new IllegalArgumentException("Unknown pool: " + name);
+        }
+    }
+
+    private static final class Run {
+        final ThreadPoolExecutor pool;
+        final LatencyHistogram latency = new LatencyHistogram();
+        final List<Integer> threadCounts = new ArrayList<>();
+
+        Run(ThreadPoolExecutor pool) {
+            this.pool = pool;
+        }
+
+        void execute() throws InterruptedException {
+            CountDownLatch done = new CountDownLatch(CYCLES * BURST_TASKS);
+            Thread sampler = new Thread(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    threadCounts.add(pool.getPoolSize());
+                    try {
+                        Thread.sleep(SAMPLE_MILLIS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+            long start = System.nanoTime();
+            sampler.start();
+            for (int cycle = 0; cycle < CYCLES; cycle++) {
+                long cycleStart = start + cycle * CYCLE_NANOS;
+                for (int i = 0; i < BURST_TASKS; i++) {
+                    parkUntil(cycleStart + BURST_NANOS * i / BURST_TASKS);
+                    long submittedAt = System.nanoTime();
+                    pool.execute(() -> {
+                        try {
+                            Thread.sleep(TASK_MILLIS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        latency.record(System.nanoTime() - submittedAt);
+                        done.countDown();
+                    });
+                }
+            }
+            done.await();
+            parkUntil(start + CYCLES * CYCLE_NANOS + TAIL_NANOS);
+            sampler.interrupt();
+            sampler.join();
+        }
+
+        int peakThreads() {
+            return threadCounts.stream().mapToInt(Integer::intValue).max().orElse(0);
+        }
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
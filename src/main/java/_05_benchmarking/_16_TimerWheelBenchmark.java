@@ -0,0 +1,144 @@
+package main.java._05_benchmarking;
+
+import main.java._03_executorService.LatencyHistogram;
+import main.java._03_executorService.TimerWheelScheduler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+===============================================
+BENCHMARK: 1,000,000 SCHEDULED TASKS, HEAP VS TIMER WHEEL
+===============================================
+
+SCHEDULERS:
+- **heap** → `ScheduledThreadPoolExecutor(1)` with `setRemoveOnCancelPolicy(true)`, so cancelled tasks
+  really leave the heap (otherwise they stay until their delay runs out).
+- **wheel** → `TimerWheelScheduler` with 1 ms ticks, 4,096 slots and 1 worker thread.
+
+PART 1, SCHEDULE AND CANCEL:
+- T threads together schedule 1,000,000 tasks with delays of 10 to 70 seconds (none of them runs),
+  then cancel all of them. Reported: nanoseconds per schedule and per cancel (wall time / tasks).
+- For the wheel, `schedule()` only queues the task; "settle" is the extra time until the ticker has
+  placed every task into its slot.
+
+PART 2, FIRING:
+- 1,000,000 tasks due at random times within the next 2 seconds. Every task records how LATE it ran
+  (actual start - due time). Reported: p50, p99 and max lateness.
+- Expected: the wheel is up to one tick late by design; the heap is exact until its single lock
+  becomes the bottleneck.
+
+HOW TO RUN:
+- `java _16_TimerWheelBenchmark [maxThreads]` (defaults to the number of cores). Needs ~1 GB of heap.
+*/
+
+public class _16_TimerWheelBenchmark {
+    private static final int TASKS = 1_000_000;
+    private static final long FIRING_WINDOW_MILLIS = 2000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = BenchmarkHarness.maxThreads(args);
+        System.out.println("Part 1: schedule and cancel " + TASKS + " tasks");
+        System.out.println(String.format("%-8s %7s %14s %14s %12s", "Sched", "Threads", "schedule(ns)", "cancel(ns)", "settle(ms)"));
+        for (int threads : BenchmarkHarness.threadCounts(maxThreads)) {
+            for (String name : new String[]{"heap", "wheel"}) {
+                scheduleAndCancel(name, threads);
+            }
+        }
+
+        System.out.println();
+        System.out.println("Part 2: " + TASKS + " tasks firing within " + FIRING_WINDOW_MILLIS + " ms");
+        System.out.println(String.format("%-8s %12s %12s %12s", "Sched", "p50 late(ms)", "p99 late(ms)", "max late(ms)"));
+        for (String name : new String[]{"heap", "wheel"}) {
+            firing(name);
+        }
+    }
+
+    private static ScheduledExecutorService newScheduler(String name) {
+        if (name.equals("heap")) {
+            ScheduledThreadPoolExecutor heap = new ScheduledThreadPoolExecutor(1);
+            heap.setRemoveOnCancelPolicy(true);
+            return heap;
+        }
+        return new TimerWheelScheduler(1, TimeUnit.MILLISECONDS, 4096, 1);
+    }
+
+    private static void scheduleAndCancel(String name, int threads) throws InterruptedException {
+        ScheduledExecutorService scheduler = newScheduler(name);
+        ScheduledFuture<?>[] futures = new ScheduledFuture<?>[TASKS];
+        Runnable noop = () -> { };
+
+        long scheduleNanos = inParallel(threads, index -> {
+            long delay = 10_000 + ThreadLocalRandom.current().nextLong(60_000);
+            futures[index] = scheduler.schedule(noop, delay, TimeUnit.MILLISECONDS);
+        });
+        long settleStart = System.nanoTime();
+        if (scheduler instanceof TimerWheelScheduler) {
+            while (((TimerWheelScheduler) scheduler).timerCount() < TASKS) {
+                Thread.sleep(1);
+            }
+        }
+        long settleNanos = System.nanoTime() - settleStart;
+        long cancelNanos = inParallel(threads, index -> futures[index].cancel(false));
+
+        System.out.println(String.format("%-8s %7d %14.0f %14.0f %12s", name, threads,
+                (double) scheduleNanos / TASKS, (double) cancelNanos / TASKS,
+                scheduler instanceof TimerWheelScheduler ? String.format("%.0f", settleNanos / 1e6) : "-"));
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private static void firing(String name) throws InterruptedException {
+        ScheduledExecutorService scheduler = newScheduler(name);
+        LatencyHistogram lateness = new LatencyHistogram();
+        CountDownLatch done = new CountDownLatch(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            long delayNanos = ThreadLocalRandom.current().nextLong(TimeUnit.MILLISECONDS.toNanos(FIRING_WINDOW_MILLIS));
+            long due = System.nanoTime() + delayNanos;
+            scheduler.schedule(() -> {
+                lateness.record(System.nanoTime() - due);
+                done.countDown();
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        }
+        done.await();
+        System.out.println(String.format("%-8s %12.2f %12.2f %12.2f", name,
+                lateness.percentile(0.50) / 1e6, lateness.percentile(0.99) / 1e6, lateness.max() / 1e6));
+        scheduler.shutdown();
+        scheduler.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private interface IndexedAction {
+        void run(int index);
+    }
+
+    // Runs action(0 .. TASKS-1), split evenly over the threads; returns the wall time in nanoseconds.
+    private static long inParallel(int threads, IndexedAction action) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            int from = (int) ((long) TASKS * t / threads);
+            int to = (int) ((long) TASKS * (t + 1) / threads);
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = from; i < to; i++) {
+                    action.run(i);
+                }
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return System.nanoTime() - begin;
+    }
+}
@@ -0,0 +1,113 @@
+package main.java._05_benchmarking;
+
+import main.java._03_executorService.LatencyHistogram;
+import main.java._03_executorService.TimerWheelScheduler;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/*
+===============================================
+BENCHMARK: SYNCHRONIZED PROBES VS PHASE-SPREAD PROBES
+===============================================
+
+THE WORKLOAD:
+- 2,000 probes, all scheduled with `scheduleAtFixedRate(probe, 0, 100 ms)`.
+- Every probe burns ~20 us of CPU: 40 ms of work per 100 ms period, so ONE worker thread can keep up
+  on average, but not if all 2,000 probes fire at the same moment.
+- Runs for 3 seconds after 1 second of warm-up.
+
+SCHEDULERS:
+- **heap** → `ScheduledThreadPoolExecutor(1)`.
+- **wheel** → `TimerWheelScheduler` (1 ms ticks, 1 worker), phase spreading off.
+- **spread** → the same with `setPhaseSpreading(true)`.
+
+WHAT IS MEASURED:
+- LOAD SHAPE: probe starts per 10 ms window, mean and PEAK. Flat load → peak close to mean.
+- LATENESS: actual start - intended start (p50, p99). The heap is measured by the probes themselves
+  (run k is due at k × period); the wheel reports it through `fireLatenessHistogram()`.
+- Missed (coalesced) runs, from `missedRuns()` (the heap never skips a run).
+
+HOW TO RUN:
+- `java _17_PhaseSpreadBenchmark` (about 15 seconds).
+*/
+
+public class _17_PhaseSpreadBenchmark {
+    private static final int PROBES = 2000;
+    private static final long PERIOD_MILLIS = 100;
+    private static final long PROBE_WORK_NANOS = 20_000;
+    private static final long WARMUP_MILLIS = 1000;
+    private static final long MEASURE_MILLIS = 3000;
+    private static final long WINDOW_MILLIS = 10;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println(String.format("%-8s %12s %12s %12s %12s %8s",
+                "Sched", "mean/10ms", "peak/10ms", "p50 late(ms)", "p99 late(ms)", "missed"));
+        for (String name : new String[]{"heap", "wheel", "spread"}) {
+            run(name);
+        }
+    }
+
+    private static void run(String name) throws InterruptedException {
+        ScheduledExecutorService scheduler;
+        if (name.equals("heap")) {
+            scheduler = new ScheduledThreadPoolExecutor(1);
+        } else {
+            TimerWheelScheduler wheel = new TimerWheelScheduler(1, TimeUnit.MILLISECONDS, 512, 1);
+            wheel.setPhaseSpreading(name.equals("spread"));
+            scheduler = wheel;
+        }
+
+        int windows = (int) (MEASURE_MILLIS / WINDOW_MILLIS);
+        AtomicIntegerArray startsPerWindow = new AtomicIntegerArray(windows);
+        LatencyHistogram heapLateness = new LatencyHistogram();
+        long measureStart = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(WARMUP_MILLIS);
+        long periodNanos = TimeUnit.MILLISECONDS.toNanos(PERIOD_MILLIS);
+
+        for (int i = 0; i < PROBES; i++) {
+            long firstDue = System.nanoTime();
+            long[] run = new long[1];   // only touched by this probe's runs, which never overlap
+            scheduler.scheduleAtFixedRate(() -> {
+                long now = System.nanoTime();
+                heapLateness.record(now - (firstDue + run[0]++ * periodNanos));
+                int window = (int) ((now - measureStart) / TimeUnit.MILLISECONDS.toNanos(WINDOW_MILLIS));
+                if (now >= measureStart && window < windows) {
+                    startsPerWindow.incrementAndGet(window);
+                }
+                long end = now + PROBE_WORK_NANOS;
+                while (System.nanoTime() < end) {
+                    // burn CPU like a probe that parses a response
+                }
+            }, 0, PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        Thread.sleep(WARMUP_MILLIS);
+        if (scheduler instanceof TimerWheelScheduler) {
+            ((TimerWheelScheduler) scheduler).fireLatenessHistogram().reset();
+        } else {
+            heapLateness.reset();
+        }
+        Thread.sleep(MEASURE_MILLIS);
+
+        long total = 0;
+        int peak = 0;
+        for (int i = 0; i < windows; i++) {
+            total += startsPerWindow.get(i);
+            peak = Math.max(peak, startsPerWindow.get(i));
+        }
+        LatencyHistogram lateness = heapLateness;
+        String missed = "-";
+        if (scheduler instanceof TimerWheelScheduler) {
+            TimerWheelScheduler wheel = (TimerWheelScheduler) scheduler;
+            lateness = wheel.fireLatenessHistogram();
+            missed = String.valueOf(wheel.missedRuns());
+        }
+        System.out.println(String.format("%-8s %12.1f %12d %12.2f %12.2f %8s", name, (double) total / windows, peak,
+                lateness.percentile(0.50) / 1e6, lateness.percentile(0.99) / 1e6, missed));
+
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(1, TimeUnit.MINUTES);
+    }
+}
@@ -0,0 +1,147 @@
+package main.java._05_benchmarking;
+
+import main.java._03_executorService.AsyncPipeline;
+import main.java._03_executorService.LatencyHistogram;
+import main.java._03_executorService.TimerWheelScheduler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+===============================================
+BENCHMARK: 10,000 PIPELINES, Future.get() VS ASYNC COMPOSITION
+===============================================
+
+ONE PIPELINE:
+- Step 1: a `ReturnValueTask`-style Callable that sleeps 20 ms (a remote call) and returns a number.
+- Step 2: another Callable that needs step 1's result, sleeps 10 ms and returns.
+- The whole pipeline has a 1 second timeout.
+- All 10,000 pipelines are started at once. The Callables always run on the same "I/O" pool of
+  500 threads, so the remote calls have the same capacity in every mode.
+
+MODES:
+- **get/cached** → every pipeline is a task on `newCachedThreadPool()` that submits step 1, calls
+  `get(timeout)`, submits step 2, calls `get(timeout)`. One parked thread per pipeline.
+- **get/fixed200** → the same on `newFixedThreadPool(200)`: fewer parked threads, but only 200 pipelines
+  can be in progress; the rest wait in the queue.
+- **async** → `AsyncPipeline.call` + `thenCompose` + `withTimeout` (timer wheel). No thread waits.
+
+WHAT IS MEASURED:
+- Peak live threads in the JVM while the mode runs (`ThreadMXBean.getPeakThreadCount`).
+- End-to-end latency per pipeline, p50/p99, and total wall time. All pipelines arrive together, so
+  latency counts from the start of the batch: a pipeline that waits for a free thread before it
+  even starts is late too.
+- Failed pipelines (timeouts), which should be 0.
+
+HOW TO RUN:
+- `java _18_AsyncPipelineBenchmark` (a few seconds; get/cached briefly starts ~10,000 threads).
+*/
+
+public class _18_AsyncPipelineBenchmark {
+    private static final int PIPELINES = 10_000;
+    private static final int IO_THREADS = 500;
+    private static final long TIMEOUT_MILLIS = 1000;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println(String.format("%-14s %12s %12s %12s %12s %8s",
+                "Mode", "peak threads", "p50(ms)", "p99(ms)", "wall(ms)", "failed"));
+        for (String mode : new String[]{"get/cached", "get/fixed200", "async"}) {
+            run(mode);
+        }
+    }
+
+    private static void run(String mode) throws Exception {
+        ExecutorService io = Executors.newFixedThreadPool(IO_THREADS);
+        prestart(io);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+
+        LatencyHistogram latency = new LatencyHistogram();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(PIPELINES);
+        long start = System.nanoTime();
+
+        if (mode.equals("async")) {
+            TimerWheelScheduler timer = new TimerWheelScheduler(1);
+            for (int i = 0; i < PIPELINES; i++) {
+                CompletableFuture<Integer> first = AsyncPipeline.call(step(20, i), io);
+                CompletableFuture<Integer> second = AsyncPipeline.thenCompose(first, value -> AsyncPipeline.call(step(10, value * 2), io));
+                AsyncPipeline.withTimeout(second, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS, timer)
+                        .whenComplete((value, failure) -> {
+                            finish(start, failure == null, latency, failed);
+                            done.countDown();
+                        });
+            }
+            done.await();
+            timer.shutdown();
+        } else {
+            ExecutorService drivers = mode.equals("get/cached") ? Executors.newCachedThreadPool() : Executors.newFixedThreadPool(200);
+            for (int i = 0; i < PIPELINES; i++) {
+                int id = i;
+                drivers.execute(() -> {
+                    boolean ok = false;
+                    try {
+                        long deadline = start + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+                        Future<Integer> first = io.submit(step(20, id));
+                        int value = first.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        Future<Integer> second = io.submit(step(10, value * 2));
+                        second.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        ok = true;
+                    } catch (Exception e) {
+                        // timed out or failed: counted below
+                    }
+                    finish(start, ok, latency, failed);
+                    done.countDown();
+                });
+            }
+            done.await();
+            drivers.shutdown();
+            drivers.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        long wall = System.nanoTime() - start;
+        System.out.println(String.format("%-14s %12d %12.1f %12.1f %12.0f %8d", mode, threads.getPeakThreadCount(),
+                latency.percentile(0.50) / 1e6, latency.percentile(0.99) / 1e6, wall / 1e6, failed.get()));
+        io.shutdown();
+        io.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private static Callable<Integer> step(long sleepMillis, int result) {
+        return () -> {
+            Thread.sleep(sleepMillis);
+            return result;
+        };
+    }
+
+    private static void finish(long start, boolean ok, LatencyHistogram latency, AtomicInteger failed) {
+        if (ok) {
+            latency.record(System.nanoTime() - start);
+        } else {
+            failed.incrementAndGet();
+        }
+    }
+
+    // Starts all I/O threads up front, so they count the same in every mode.
+    private static void prestart(ExecutorService io) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(IO_THREADS);
+        for (int i = 0; i < IO_THREADS; i++) {
+            io.execute(() -> {
+                started.countDown();
+                try {
+                    started.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        started.await();
+    }
+}
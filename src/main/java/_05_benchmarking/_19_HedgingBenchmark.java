@@ -0,0 +1,98 @@
+package main.java._05_benchmarking;
+
+import main.java._03_executorService.AsyncPipeline;
+import main.java._03_executorService.HedgedExecutor;
+import main.java._03_executorService.LatencyHistogram;
+import main.java._03_executorService.TimerWheelScheduler;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+===============================================
+BENCHMARK: TAIL LATENCY WITH INJECTED STRAGGLERS, HEDGED VS NOT
+===============================================
+
+THE WORKLOAD:
+- 20,000 calls, 64 in flight at any time. Every ATTEMPT sleeps 5 ms, except injected stragglers:
+  2% of attempts sleep 100 ms and 0.2% sleep 1 second.
+- Stragglers are per attempt, like real ones (a pause on one server, not a property of the request).
+
+MODES:
+- **plain** → `AsyncPipeline.call`: one attempt per call.
+- **hedge p95 / p99** → `HedgedExecutor` at that percentile: a second attempt starts when the first
+  is slower than 95% (99%) of recent attempts.
+- The first 2,000 calls of every mode are warm-up (they also teach the hedger the latency) and are
+  not measured.
+
+WHAT IS MEASURED:
+- Call latency (submit → result) p50, p99, p99.9 and max.
+- Extra load: attempts started / calls - 1 (the price of hedging).
+
+HOW TO RUN:
+- `java _19_HedgingBenchmark` (about 10 seconds).
+*/
+
+public class _19_HedgingBenchmark {
+    private static final int CALLS = 20_000;
+    private static final int WARMUP_CALLS = 2_000;
+    private static final int IN_FLIGHT = 64;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println(String.format("%-10s %10s %10s %11s %10s %12s",
+                "Mode", "p50(ms)", "p99(ms)", "p99.9(ms)", "max(ms)", "extra load"));
+        run("plain", 0);
+        run("hedge p95", 0.95);
+        run("hedge p99", 0.99);
+    }
+
+    private static void run(String name, double percentile) throws InterruptedException {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        TimerWheelScheduler timer = new TimerWheelScheduler(1, TimeUnit.MILLISECONDS, 1024, 1);
+        HedgedExecutor hedged = percentile > 0 ? new HedgedExecutor(executor, timer, percentile) : null;
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder attempts = new LongAdder();
+        Semaphore inFlight = new Semaphore(IN_FLIGHT);
+        CountDownLatch done = new CountDownLatch(CALLS);
+
+        Callable<Integer> call = () -> {
+            attempts.increment();
+            double dice = ThreadLocalRandom.current().nextDouble();
+            Thread.sleep(dice < 0.002 ? 1000 : dice < 0.022 ? 100 : 5);
+            return 12;
+        };
+
+        for (int i = 0; i < CALLS; i++) {
+            inFlight.acquire();
+            if (i == WARMUP_CALLS) {
+                attempts.reset();
+            }
+            boolean measured = i >= WARMUP_CALLS;
+            long start = System.nanoTime();
+            CompletableFuture<Integer> result = hedged != null ? hedged.submit("lookup", call) : AsyncPipeline.call(call, executor);
+            result.whenComplete((value, failure) -> {
+                if (measured) {
+                    latency.record(System.nanoTime() - start);
+                }
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        done.await();
+
+        double extraLoad = (double) attempts.sum() / (CALLS - WARMUP_CALLS) - 1;
+        System.out.println(String.format("%-10s %10.1f %10.1f %11.1f %10.1f %11.1f%%", name,
+                latency.percentile(0.50) / 1e6, latency.percentile(0.99) / 1e6,
+                latency.percentile(0.999) / 1e6, latency.max() / 1e6, extraLoad * 100));
+        executor.shutdownNow();
+        timer.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+}
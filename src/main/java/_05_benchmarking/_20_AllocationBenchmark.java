@@ -0,0 +1,133 @@
+package main.java._05_benchmarking;
+
+import main.java._03_executorService.PooledTaskExecutor;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+===============================================
+BENCHMARK: ALLOCATION PER SUBMITTED TASK
+===============================================
+
+JMH's `-prof gc` reports "bytes allocated per operation". The JVM exposes the same counter per
+thread (`com.sun.management.ThreadMXBean.getThreadAllocatedBytes`), so this benchmark reads it for
+ALL threads (the submitter and the pool's workers) before and after a run.
+
+MODES (one submitting thread, 5,000,000 tiny tasks, pool of N workers):
+- **tpe execute** → `ThreadPoolExecutor.execute(new Work(i))`: the Work object + a LinkedBlockingQueue node.
+- **tpe submit** → `ThreadPoolExecutor.submit(() -> work(i))`: a capturing lambda + FutureTask + node.
+- **pooled** → `PooledTaskExecutor.execute(Work::run, i)`: a shared handler, the id travels in a
+  preallocated carrier. Expected: ~0 bytes per task.
+
+WHAT IS MEASURED:
+- Bytes allocated per task (all threads), young-GC count and GC time during the run, tasks per second.
+- A warm-up run of 1,000,000 tasks comes first, so JIT compilation is not counted.
+
+HOW TO RUN:
+- `java _20_AllocationBenchmark [workers]` (defaults to the number of cores).
+*/
+
+public class _20_AllocationBenchmark {
+    private static final int TASKS = 5_000_000;
+    private static final int WARMUP_TASKS = 1_000_000;
+    private static final AtomicLong done = new AtomicLong();
+
+    public static void main(String[] args) throws InterruptedException {
+        int workers = BenchmarkHarness.maxThreads(args);
+        System.out.println(String.format("%-14s %14s %10s %12s %14s", "Mode", "bytes/task", "GCs", "GC time(ms)", "tasks/s"));
+        for (String mode : new String[]{"tpe execute", "tpe submit", "pooled"}) {
+            ExecutorService executor = mode.equals("pooled")
+                    ? new PooledTaskExecutor(workers, 1024)
+                    : Executors.newFixedThreadPool(workers);
+            submitAll(mode, executor, WARMUP_TASKS);
+
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long[] ids = threads.getAllThreadIds();
+            long bytesBefore = sum(threads.getThreadAllocatedBytes(ids));
+            long gcCountBefore = gcCount();
+            long gcTimeBefore = gcTime();
+            long start = System.nanoTime();
+
+            submitAll(mode, executor, TASKS);
+
+            long elapsed = System.nanoTime() - start;
+            long bytes = sum(threads.getThreadAllocatedBytes(ids)) - bytesBefore;
+            System.out.println(String.format("%-14s %14.1f %10d %12d %14.0f", mode, (double) bytes / TASKS,
+                    gcCount() - gcCountBefore, gcTime() - gcTimeBefore, TASKS * 1e9 / elapsed));
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private static void submitAll(String mode, ExecutorService executor, int tasks) throws InterruptedException {
+        done.set(0);
+        switch (mode) {
+            case "tpe execute":
+                for (int i = 0; i < tasks; i++) {
+                    executor.execute(new Work(i));
+                }
+                break;
+            case "tpe submit":
+                for (int i = 0; i < tasks; i++) {
+                    long id = i;
+                    executor.submit(() -> Work.run(id));
+                }
+                break;
+            default:
+                PooledTaskExecutor pooled = (PooledTaskExecutor) executor;
+                for (int i = 0; i < tasks; i++) {
+                    pooled.execute(Work::run, i);
+                }
+        }
+        while (done.get() < tasks) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += Math.max(0, value);   // -1 for threads that ended
+        }
+        return total;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+
+    private static final class Work implements Runnable {
+        private final long id;
+
+        Work(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public void run() {
+            run(id);
+        }
+
+        static void run(long id) {
+            BenchmarkHarness.blackhole(id * 31);
+            done.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package main.java._05_benchmarking;
+
+import main.java._03_executorService.DeadlineExecutor;
+import main.java._03_executorService.LatencyHistogram;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+===============================================
+BENCHMARK: INTERACTIVE + BATCH WORK, FIFO VS EARLIEST DEADLINE FIRST
+===============================================
+
+THE WORKLOAD (one pool of 4 threads, 5 seconds):
+- INTERACTIVE: 200 requests per second, evenly spaced. Each sleeps 1 ms and must be done within
+  20 ms of its submission.
+- BATCH: every 500 ms a burst of 100 jobs. Each sleeps 10 ms; no deadline.
+- Average load ~55% of the pool, but every burst is 250 ms of work for all 4 threads.
+
+POOLS:
+- **fifo** → `newFixedThreadPool(4)`: requests that arrive after a burst wait for the whole burst.
+- **edf** → `DeadlineExecutor(4)`: requests are submitted with their 20 ms deadline, batch jobs with
+  Priority.LOW. A request that could not even start within 20 ms is shed.
+
+WHAT IS MEASURED:
+- Interactive: latency (submit → end) p50/p99/max of the requests that ran, % done within the
+  deadline (shed requests count as not done), and how many were shed.
+- Batch: latency p50/p99, to show what the reordering costs the batch work.
+
+HOW TO RUN:
+- `java _21_DeadlineSchedulingBenchmark` (about 12 seconds).
+*/
+
+public class _21_DeadlineSchedulingBenchmark {
+    private static final int THREADS = 4;
+    private static final long RUN_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final long INTERACTIVE_EVERY_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long BURST_EVERY_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final int BURST_JOBS = 100;
+    private static final long DEADLINE_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println(String.format("%-6s %9s %9s %9s %10s %7s %11s %11s",
+                "Pool", "int p50", "int p99", "int max", "on time", "shed", "batch p50", "batch p99"));
+        run("fifo");
+        run("edf");
+        System.out.println("(latencies in ms)");
+    }
+
+    private static void run(String name) throws InterruptedException {
+        ExecutorService pool = name.equals("edf") ? new DeadlineExecutor(THREADS) : Executors.newFixedThreadPool(THREADS);
+        DeadlineExecutor deadlines = pool instanceof DeadlineExecutor ? (DeadlineExecutor) pool : null;
+        LatencyHistogram interactive = new LatencyHistogram();
+        LatencyHistogram batch = new LatencyHistogram();
+        LongAdder onTime = new LongAdder();
+        long requests = 0;
+
+        long start = System.nanoTime();
+        long nextRequest = start;
+        long nextBurst = start;
+        while (nextRequest - start < RUN_NANOS) {
+            if (nextBurst - nextRequest <= 0) {
+                for (int i = 0; i < BURST_JOBS; i++) {
+                    long submitted = System.nanoTime();
+                    Runnable job = () -> {
+                        sleep(10);
+                        batch.record(System.nanoTime() - submitted);
+                    };
+                    if (deadlines != null) {
+                        deadlines.execute(job, DeadlineExecutor.Priority.LOW);
+                    } else {
+                        pool.execute(job);
+                    }
+                }
+                nextBurst += BURST_EVERY_NANOS;
+            }
+            LockSupport.parkNanos(nextRequest - System.nanoTime());
+            long submitted = System.nanoTime();
+            Runnable request = () -> {
+                sleep(1);
+                long latency = System.nanoTime() - submitted;
+                interactive.record(latency);
+                if (latency <= DEADLINE_NANOS) {
+                    onTime.increment();
+                }
+            };
+            if (deadlines != null) {
+                deadlines.execute(request, DEADLINE_NANOS, TimeUnit.NANOSECONDS);
+            } else {
+                pool.execute(request);
+            }
+            requests++;
+            nextRequest += INTERACTIVE_EVERY_NANOS;
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+
+        long shed = deadlines != null ? deadlines.tasksShed() : 0;
+        System.out.println(String.format("%-6s %9.1f %9.1f %9.1f %9.1f%% %7d %11.1f %11.1f", name,
+                interactive.percentile(0.50) / 1e6, interactive.percentile(0.99) / 1e6, interactive.max() / 1e6,
+                100.0 * onTime.sum() / requests, shed,
+                batch.percentile(0.50) / 1e6, batch.percentile(0.99) / 1e6));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
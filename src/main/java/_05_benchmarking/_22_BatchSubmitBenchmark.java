@@ -0,0 +1,94 @@
+package main.java._05_benchmarking;
+
+import main.java._03_executorService.BatchingExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+===============================================
+BENCHMARK: ONE-BY-ONE VS BATCHED SUBMISSION
+===============================================
+
+THE WORKLOAD:
+- One submitting thread hands 2,000,000 tiny tasks to a pool of N workers, in batches of
+  1, 16, 256 and 4096 tasks.
+
+MODES:
+- **tpe loop** → `newFixedThreadPool(N)`, `execute()` once per task of the batch.
+- **loop** → `BatchingExecutor(N)`, `execute()` once per task of the batch.
+- **executeAll** → `BatchingExecutor(N)`, `executeAll(batch)`: one lock acquisition and one round
+  of wake-ups per batch.
+
+WHAT IS MEASURED:
+- Submit: nanoseconds per task spent in the submitting thread (enqueue throughput).
+- Total: tasks per second until the last task has run.
+- Every mode first runs one untimed round for warm-up.
+
+HOW TO RUN:
+- `java _22_BatchSubmitBenchmark [workers]` (defaults to the number of cores).
+*/
+
+public class _22_BatchSubmitBenchmark {
+    private static final int TASKS = 2_000_000;
+    private static final int[] BATCH_SIZES = {1, 16, 256, 4096};
+    private static final String[] MODES = {"tpe loop", "loop", "executeAll"};
+    private static final LongAdder done = new LongAdder();
+    private static final Runnable TASK = () -> {
+        BenchmarkHarness.blackhole(31);
+        done.increment();
+    };
+
+    public static void main(String[] args) throws InterruptedException {
+        int workers = BenchmarkHarness.maxThreads(args);
+        System.out.println(String.format("%-7s %-12s %14s %14s", "Batch", "Mode", "submit ns/op", "total tasks/s"));
+        for (int batchSize : BATCH_SIZES) {
+            List<Runnable> batch = Collections.nCopies(batchSize, TASK);
+            for (String mode : MODES) {
+                ExecutorService executor = mode.equals("tpe loop")
+                        ? Executors.newFixedThreadPool(workers)
+                        : new BatchingExecutor(workers);
+                submitAll(mode, executor, batch);
+
+                long start = System.nanoTime();
+                long submitNanos = submitAll(mode, executor, batch);
+                long elapsed = System.nanoTime() - start;
+                System.out.println(String.format("%-7d %-12s %14.1f %14.0f", batchSize, mode,
+                        (double) submitNanos / TASKS, TASKS * 1e9 / elapsed));
+                executor.shutdown();
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            }
+        }
+    }
+
+    // Submits exactly TASKS tasks in batches (the last one trimmed) and waits until all have run;
+    // returns the time spent submitting.
+    private static long submitAll(String mode, ExecutorService executor, List<Runnable> batch) throws InterruptedException {
+        done.reset();
+        List<Runnable> full = new ArrayList<>(batch);
+        int rest = TASKS % batch.size();   // e.g. 2,000,000 = 488 × 4096 + 1152
+        List<Runnable> last = rest == 0 ? full : new ArrayList<>(batch.subList(0, rest));
+        long start = System.nanoTime();
+        for (int submitted = 0; submitted < TASKS; ) {
+            List<Runnable> next = TASKS - submitted >= full.size() ? full : last;
+            if (mode.equals("executeAll")) {
+                ((BatchingExecutor) executor).executeAll(next);
+            } else {
+                for (Runnable task : next) {
+                    executor.execute(task);
+                }
+            }
+            submitted += next.size();
+        }
+        long submitNanos = System.nanoTime() - start;
+        while (done.sum() < TASKS) {
+            Thread.sleep(1);
+        }
+        return submitNanos;
+    }
+}
@@ -0,0 +1,131 @@
+package main.java._05_benchmarking;
+
+import main.java._04_concurrentCollection.MatrixEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+===============================================
+BENCHMARK: MATRIX ENGINE SCALING BY CORES AND SIZE
+===============================================
+
+THE WORKLOAD (the two phases of `_05_CyclicBarrierDemo`, on bigger matrices):
+- Square every value, then sum every column, then sum everything.
+- Matrices of 1,000, 8,000 and 32,000 rows × 1,000 columns (8 MB, 64 MB, 256 MB of doubles).
+
+MODES:
+- **thread/row** → the demo's approach: a new Thread per row for the squares, a new Thread per
+  column for the column sums, the total in the main thread.
+- **forkjoin N** → `MatrixEngine(N)`: `map`, `reduceColumns` and `reduce` over tiles on a pool of N
+  threads, for N = 1, 2, 4, ... up to the number of cores.
+
+WHAT IS MEASURED:
+- Average milliseconds per run (3 warm-up runs, then 5 measured), and the speedup over
+  `forkjoin 1` for the same size.
+- Expect less than linear speedup on big matrices: squaring reads and writes every value once,
+  so memory bandwidth, not the cores, sets the limit.
+
+HOW TO RUN:
+- `java _23_MatrixScalingBenchmark [threads]` (defaults to the number of cores; needs ~1 GB of heap).
+*/
+
+public class _23_MatrixScalingBenchmark {
+    private static final int[] ROWS = {1_000, 8_000, 32_000};
+    private static final int COLS = 1_000;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = BenchmarkHarness.maxThreads(args);
+        System.out.println(String.format("%-8s %-14s %12s %10s", "Rows", "Mode", "ms/run", "speedup"));
+        for (int rows : ROWS) {
+            MatrixEngine.Matrix matrix = new MatrixEngine.Matrix(rows, COLS);
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < COLS; c++) {
+                    matrix.set(r, c, (r + c) % 10);
+                }
+            }
+
+            double baseline = 0;
+            for (int threads : BenchmarkHarness.threadCounts(maxThreads)) {
+                try (MatrixEngine engine = new MatrixEngine(threads)) {
+                    double millis = time(() -> {
+                        MatrixEngine.Matrix squared = engine.map(matrix, x -> x * x);
+                        double[] columnSums = engine.reduceColumns(squared, 0, Double::sum);
+                        BenchmarkHarness.blackhole((long) (engine.reduce(squared, 0, Double::sum) + columnSums[0]));
+                    });
+                    if (threads == 1) {
+                        baseline = millis;
+                    }
+                    System.out.println(String.format("%-8d %-14s %12.1f %9.2fx", rows, "forkjoin " + threads, millis, baseline / millis));
+                }
+            }
+            double threadPerRow = time(() -> threadPerRow(matrix));
+            System.out.println(String.format("%-8d %-14s %12.1f %9.2fx", rows, "thread/row", threadPerRow, baseline / threadPerRow));
+        }
+    }
+
+    private static void threadPerRow(MatrixEngine.Matrix matrix) throws InterruptedException {
+        MatrixEngine.Matrix squared = new MatrixEngine.Matrix(matrix.rows(), matrix.cols());
+        List<Thread> threads = new ArrayList<>();
+        for (int r = 0; r < matrix.rows(); r++) {
+            int row = r;
+            threads.add(startThread(() -> {
+                for (int c = 0; c < matrix.cols(); c++) {
+                    double value = matrix.get(row, c);
+                    squared.set(row, c, value * value);
+                }
+            }));
+        }
+        joinAll(threads);
+
+        double[] columnSums = new double[matrix.cols()];
+        for (int c = 0; c < matrix.cols(); c++) {
+            int col = c;
+            threads.add(startThread(() -> {
+                double sum = 0;
+                for (int r = 0; r < squared.rows(); r++) {
+                    sum += squared.get(r, col);
+                }
+                columnSums[col] = sum;
+            }));
+        }
+        joinAll(threads);
+
+        double total = 0;
+        for (double sum : columnSums) {
+            total += sum;
+        }
+        BenchmarkHarness.blackhole((long) total);
+    }
+
+    private static Thread startThread(Runnable work) {
+        Thread thread = new Thread(work);
+        thread.start();
+        return thread;
+    }
+
+    private static void joinAll(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        threads.clear();
+    }
+
+    private static double time(Run run) throws InterruptedException {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            run.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            run.run();
+        }
+        return (System.nanoTime() - start) / 1e6 / MEASURED_RUNS;
+    }
+
+    @FunctionalInterface
+    private interface Run {
+        void run() throws InterruptedException;
+    }
+}